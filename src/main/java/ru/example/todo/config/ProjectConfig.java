@@ -4,14 +4,20 @@ package ru.example.todo.config;
  * Time: 10:29 AM
  * */
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.example.todo.config.properties.BCryptProperties;
+import ru.example.todo.config.properties.StreamingProperties;
+import ru.example.todo.security.BoundedPasswordEncoder;
+import ru.example.todo.security.ConfigurableBCryptPasswordEncoder;
+import ru.example.todo.util.converters.StringToDataFormatEnumConverter;
 import ru.example.todo.util.converters.StringToDateEnumConverter;
 import ru.example.todo.util.converters.StringToSetTasksEnumConverter;
 import ru.example.todo.util.converters.StringToStatusEnumConverter;
@@ -19,9 +25,20 @@ import ru.example.todo.util.converters.StringToStatusEnumConverter;
 @Configuration
 public class ProjectConfig implements WebMvcConfigurer {
 
+    private final StreamingProperties streamingProperties;
+
+    public ProjectConfig(StreamingProperties streamingProperties) {
+        this.streamingProperties = streamingProperties;
+    }
+
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(BCryptProperties bCryptProperties, MeterRegistry meterRegistry) {
+        int strength = bCryptProperties.isCalibrate() ?
+                ConfigurableBCryptPasswordEncoder.calibrate(bCryptProperties.getLatencyBudget()) :
+                bCryptProperties.getStrength();
+
+        return new BoundedPasswordEncoder(
+                new ConfigurableBCryptPasswordEncoder(strength), bCryptProperties, meterRegistry);
     }
 
 
@@ -30,23 +47,33 @@ public class ProjectConfig implements WebMvcConfigurer {
         registry.addConverter(new StringToStatusEnumConverter());
         registry.addConverter(new StringToDateEnumConverter());
         registry.addConverter(new StringToSetTasksEnumConverter());
+        registry.addConverter(new StringToDataFormatEnumConverter());
     }
 
+    // the StreamingResponseBody writers; without an executor of its own MVC starts a thread per response
     @Override
-    public void addCorsMappings(CorsRegistry registry) {
-        registry.addMapping("/api/**")
-                .allowedOrigins("*")
-                .allowedMethods("*");
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor());
     }
 
     @Bean
-    public ModelMapper modelMapper() {
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.getConfiguration()
-                .setSkipNullEnabled(true)
-                .setMatchingStrategy(MatchingStrategies.STRICT);
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
 
-        return modelMapper;
+        executor.setCorePoolSize(streamingProperties.getThreads());
+        executor.setMaxPoolSize(streamingProperties.getThreads());
+        executor.setQueueCapacity(streamingProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("streamingExecutor-");
+        executor.initialize();
+
+        return executor;
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/api/**")
+                .allowedOrigins("*")
+                .allowedMethods("*");
     }
 
 }
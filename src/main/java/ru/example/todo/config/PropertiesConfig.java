@@ -6,9 +6,14 @@ package ru.example.todo.config;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import ru.example.todo.config.properties.BCryptProperties;
+import ru.example.todo.config.properties.ImportProperties;
+import ru.example.todo.config.properties.StreamingProperties;
+import ru.example.todo.config.properties.SyncProperties;
 import ru.example.todo.config.properties.TokenProperties;
 
 @Configuration
-@EnableConfigurationProperties({TokenProperties.class})
+@EnableConfigurationProperties({TokenProperties.class, BCryptProperties.class, SyncProperties.class,
+        ImportProperties.class, StreamingProperties.class})
 public class PropertiesConfig {
 }
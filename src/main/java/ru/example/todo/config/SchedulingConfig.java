@@ -0,0 +1,13 @@
+package ru.example.todo.config;
+/*
+ * Date: 10/18/26
+ * Time: 5:10 PM
+ * */
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
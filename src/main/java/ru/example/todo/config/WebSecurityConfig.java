@@ -14,6 +14,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.core.GrantedAuthorityDefaults;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import ru.example.todo.security.AccessTokenCache;
 import ru.example.todo.security.JwtTokenFilterConfigurer;
 import ru.example.todo.service.JwtTokenService;
 
@@ -23,9 +24,11 @@ import ru.example.todo.service.JwtTokenService;
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final JwtTokenService jwtTokenService;
+    private final AccessTokenCache accessTokenCache;
 
-    public WebSecurityConfig(JwtTokenService jwtTokenService) {
+    public WebSecurityConfig(JwtTokenService jwtTokenService, AccessTokenCache accessTokenCache) {
         this.jwtTokenService = jwtTokenService;
+        this.accessTokenCache = accessTokenCache;
     }
 
     @Bean
@@ -46,7 +49,7 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 .mvcMatchers("/api/auth/**").permitAll()
                 .anyRequest().authenticated();
 
-        http.apply(new JwtTokenFilterConfigurer(jwtTokenService));
+        http.apply(new JwtTokenFilterConfigurer(jwtTokenService, accessTokenCache));
     }
 
     @Override
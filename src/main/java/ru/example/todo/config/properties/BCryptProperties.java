@@ -0,0 +1,75 @@
+package ru.example.todo.config.properties;
+/*
+ * Date: 10/18/26
+ * Time: 3:10 PM
+ * */
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "bcrypt")
+public class BCryptProperties {
+
+    private int strength = 10;
+
+    // picks the strength on startup instead of using the configured one
+    private boolean calibrate;
+
+    // milliseconds
+    private long latencyBudget = 250;
+
+    // 0 - the number of available processors
+    private int threads;
+
+    private int queueCapacity = 32;
+
+    // seconds
+    private long retryAfter = 1;
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public void setStrength(int strength) {
+        this.strength = strength;
+    }
+
+    public boolean isCalibrate() {
+        return calibrate;
+    }
+
+    public void setCalibrate(boolean calibrate) {
+        this.calibrate = calibrate;
+    }
+
+    public long getLatencyBudget() {
+        return latencyBudget;
+    }
+
+    public void setLatencyBudget(long latencyBudget) {
+        this.latencyBudget = latencyBudget;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(long retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
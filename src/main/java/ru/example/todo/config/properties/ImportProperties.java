@@ -0,0 +1,78 @@
+package ru.example.todo.config.properties;
+/*
+ * Date: 10/18/26
+ * Time: 11:15 PM
+ * */
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "import")
+public class ImportProperties {
+
+    // bytes of an upload, after decompression
+    private long maxSize = 104_857_600;
+
+    // rows per transaction, the job progress moves a batch at a time
+    private int batchSize = 500;
+
+    // rejected rows kept with the job, the rest are only counted
+    private int maxErrors = 100;
+
+    // the import threads, apart from the taskExecutor ones
+    private int threads = 1;
+
+    // jobs waiting for a thread, a fuller queue is answered with 503
+    private int queueCapacity = 4;
+
+    // milliseconds since its last batch after which a QUEUED or RUNNING job, such as one cut short
+    // by a restart, no longer keeps the user from another import
+    private long staleAfter = 1_800_000;
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public void setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getStaleAfter() {
+        return staleAfter;
+    }
+
+    public void setStaleAfter(long staleAfter) {
+        this.staleAfter = staleAfter;
+    }
+}
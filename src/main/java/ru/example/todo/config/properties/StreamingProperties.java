@@ -0,0 +1,34 @@
+package ru.example.todo.config.properties;
+/*
+ * Date: 10/19/26
+ * Time: 3:10 AM
+ * */
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "streaming")
+public class StreamingProperties {
+
+    // the threads writing the streamed responses, such as a sync or an export; each one holds
+    // a connection while it writes, so they are kept below the connection pool size
+    private int threads = 4;
+
+    // responses waiting for a thread, a fuller queue is answered with 503
+    private int queueCapacity = 16;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
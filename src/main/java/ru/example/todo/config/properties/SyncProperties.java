@@ -0,0 +1,74 @@
+package ru.example.todo.config.properties;
+/*
+ * Date: 10/18/26
+ * Time: 9:35 PM
+ * */
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "sync")
+public class SyncProperties {
+
+    // milliseconds the next token is moved back by, the changes committed
+    // while a sync reads are sent again by the next one instead of being missed
+    private long overlap = 5_000;
+
+    // milliseconds the tombstones are kept, older tokens are rejected
+    private long tombstoneRetention = 2_592_000_000L;
+
+    private final Sweeper sweeper = new Sweeper();
+
+    public long getOverlap() {
+        return overlap;
+    }
+
+    public void setOverlap(long overlap) {
+        this.overlap = overlap;
+    }
+
+    public long getTombstoneRetention() {
+        return tombstoneRetention;
+    }
+
+    public void setTombstoneRetention(long tombstoneRetention) {
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    public Sweeper getSweeper() {
+        return sweeper;
+    }
+
+    public static class Sweeper {
+
+        private boolean enabled = true;
+
+        // milliseconds between the runs, read by @Scheduled
+        private long interval = 3_600_000;
+
+        private int batchSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(long interval) {
+            this.interval = interval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+}
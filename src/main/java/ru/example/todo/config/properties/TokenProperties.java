@@ -17,6 +17,10 @@ public class TokenProperties {
 
     private long refreshTokenValidity;
 
+    private final Cache cache = new Cache();
+
+    private final Sweeper sweeper = new Sweeper();
+
     public String getSecret() {
         return secret;
     }
@@ -40,4 +44,69 @@ public class TokenProperties {
     public void setRefreshTokenValidity(long refreshTokenValidity) {
         this.refreshTokenValidity = refreshTokenValidity;
     }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Sweeper getSweeper() {
+        return sweeper;
+    }
+
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        private long maxSize = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class Sweeper {
+
+        private boolean enabled = true;
+
+        // milliseconds between the runs, read by @Scheduled
+        private long interval = 3_600_000;
+
+        private int batchSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public void setInterval(long interval) {
+            this.interval = interval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
 }
@@ -6,7 +6,6 @@ package ru.example.todo.controller;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.annotations.Api;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.example.todo.dto.UserDto;
@@ -16,6 +15,7 @@ import ru.example.todo.messaging.MessagingService;
 import ru.example.todo.messaging.requests.EmailRequest;
 import ru.example.todo.messaging.requests.TokenRequest;
 import ru.example.todo.service.UserService;
+import ru.example.todo.util.mappers.UserMapper;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
@@ -29,26 +29,24 @@ public class AuthController {
     private final UserService userService;
     private final PasswordFacade passwordFacade;
     private final MessagingService messagingService;
-    private final ModelMapper modelMapper;
 
     public AuthController(UserService userService, PasswordFacade passwordFacade,
-                          MessagingService messagingService, ModelMapper modelMapper) {
+                          MessagingService messagingService) {
         this.userService = userService;
         this.passwordFacade = passwordFacade;
         this.messagingService = messagingService;
-        this.modelMapper = modelMapper;
     }
 
     @PostMapping(value = "/login", produces = "application/json")
     public ResponseEntity<Map<String, String>> login(@Valid @RequestBody UserDto userDto, HttpServletRequest request) {
-        User user = modelMapper.map(userDto, User.class);
+        User user = UserMapper.toEntity(userDto);
         Map<String, String> tokens = userService.login(user, getClientIp(request));
         return ResponseEntity.ok(tokens);
     }
 
     @PostMapping(value = "/register", produces = "application/json")
     public ResponseEntity<String> register(@Valid @RequestBody UserDto userDto) {
-        String register = userService.register(modelMapper.map(userDto, User.class));
+        String register = userService.register(UserMapper.toEntity(userDto));
         return ResponseEntity.ok(register);
     }
 
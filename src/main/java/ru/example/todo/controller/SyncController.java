@@ -0,0 +1,118 @@
+package ru.example.todo.controller;
+/*
+ * Date: 10/18/26
+ * Time: 10:00 PM
+ * */
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.example.todo.domain.SyncToken;
+import ru.example.todo.domain.TaskChange;
+import ru.example.todo.entity.TodoSection;
+import ru.example.todo.entity.Tombstone;
+import ru.example.todo.security.UserDetailsImpl;
+import ru.example.todo.service.SyncService;
+import ru.example.todo.util.TaskChangeWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@Api(tags = "Sync")
+@RestController
+@RequestMapping("/api/sync")
+@PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+public class SyncController {
+
+    private final SyncService syncService;
+    private final ObjectMapper objectMapper;
+
+    public SyncController(SyncService syncService, ObjectMapper objectMapper) {
+        this.syncService = syncService;
+        this.objectMapper = objectMapper;
+    }
+
+    // get the changes since the previous sync
+    @ApiOperation(value = "Sync", notes = "Stream the tasks and sections created or updated since the token " +
+            "of the previous sync and the ids of the deleted ones, along with the token of the next sync. " +
+            "Without a token all the tasks and sections are sent, an expired token is answered with 410 Gone")
+    @GetMapping(produces = "application/json")
+    public ResponseEntity<StreamingResponseBody> getChanges(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                            @RequestParam(value = "since", required = false) String since) {
+        Long userId = userDetails.getId();
+        // checked before the response is committed, so an invalid token gets an error status
+        SyncToken token = syncService.decodeToken(since);
+        SyncToken next = syncService.nextToken();
+
+        // written while the rows are read, the tombstones go last so a task deleted meanwhile ends up deleted
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeStringField("token", next.encode());
+
+                json.writeArrayFieldStart("tasks");
+                syncService.forEachTask(userId, token, task -> write(json, task));
+                json.writeEndArray();
+
+                json.writeArrayFieldStart("sections");
+                syncService.forEachSection(userId, token, section -> write(json, section));
+                json.writeEndArray();
+
+                json.writeArrayFieldStart("deleted");
+                syncService.forEachTombstone(userId, token, tombstone -> write(json, tombstone));
+                json.writeEndArray();
+
+                json.writeEndObject();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private static void write(JsonGenerator json, TaskChange task) {
+        try {
+            TaskChangeWriter.writeJson(json, task);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void write(JsonGenerator json, TodoSection section) {
+        try {
+            json.writeStartObject();
+            json.writeNumberField("id", section.getId());
+            json.writeStringField("title", section.getTitle());
+            json.writeStringField("createdAt", TaskChangeWriter.format(section.getCreatedAt()));
+            json.writeStringField("updatedAt", TaskChangeWriter.format(section.getUpdatedAt()));
+            json.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // the tasks of a deleted section are detached from it
+    private static void write(JsonGenerator json, Tombstone tombstone) {
+        try {
+            json.writeStartObject();
+            json.writeStringField("type", tombstone.getEntityType().name().toLowerCase());
+            json.writeNumberField("id", tombstone.getEntityId());
+            json.writeStringField("deletedAt", TaskChangeWriter.format(tombstone.getDeletedAt()));
+            json.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+}
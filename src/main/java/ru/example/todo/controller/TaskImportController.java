@@ -0,0 +1,66 @@
+package ru.example.todo.controller;
+/*
+ * Date: 10/19/26
+ * Time: 12:20 AM
+ * */
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import ru.example.todo.entity.ImportJob;
+import ru.example.todo.enums.DataFormat;
+import ru.example.todo.facade.TaskImportFacade;
+import ru.example.todo.security.UserDetailsImpl;
+import ru.example.todo.service.TaskImportService;
+
+import java.io.InputStream;
+import java.net.URI;
+
+@Api(tags = "Task imports")
+@RestController
+@RequestMapping("/api/tasks/import")
+@PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+public class TaskImportController {
+
+    private final TaskImportFacade taskImportFacade;
+    private final TaskImportService taskImportService;
+
+    public TaskImportController(TaskImportFacade taskImportFacade, TaskImportService taskImportService) {
+        this.taskImportFacade = taskImportFacade;
+        this.taskImportService = taskImportService;
+    }
+
+    // import tasks
+    @ApiOperation(value = "Import tasks", notes = "Upload the tasks as the request body, NDJSON or CSV " +
+            "as the export writes them, gzip compressed with Content-Encoding: gzip if need be. " +
+            "The tasks are imported in the background, follow the Location header for the progress")
+    @PostMapping(produces = "application/json")
+    public ResponseEntity<ImportJob> importTasks(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(value = "format", required = false, defaultValue = "NDJSON") DataFormat format,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) {
+        boolean gzip = "gzip".equalsIgnoreCase(contentEncoding);
+        ImportJob job = taskImportFacade.submitImport(userDetails.getId(), format, body, gzip);
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}").buildAndExpand(job.getId()).toUri();
+
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    // get import progress
+    @ApiOperation(value = "Import progress", notes = "The rows processed, imported and rejected so far, " +
+            "along with the first rejected rows and why")
+    @GetMapping(value = "/{id}", produces = "application/json")
+    public ImportJob getImport(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                               @PathVariable("id") Long jobId) {
+        return taskImportService.findJob(userDetails.getId(), jobId);
+    }
+
+}
@@ -6,7 +6,6 @@ package ru.example.todo.controller;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
@@ -15,9 +14,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.example.todo.controller.assembler.TodoSectionModelAssembler;
 import ru.example.todo.controller.wrapper.TaskIdsWrapper;
+import ru.example.todo.domain.TodoSectionProjection;
 import ru.example.todo.dto.TodoSectionDto;
 import ru.example.todo.entity.TodoSection;
 import ru.example.todo.entity.User;
@@ -25,10 +26,15 @@ import ru.example.todo.enums.filters.FilterByOperation;
 import ru.example.todo.facade.TasksFacade;
 import ru.example.todo.security.UserDetailsImpl;
 import ru.example.todo.service.TodoSectionService;
+import ru.example.todo.service.UserService;
+import ru.example.todo.util.ETags;
+import ru.example.todo.util.mappers.TodoSectionMapper;
 
 import javax.validation.Valid;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -40,33 +46,46 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
 public class TodoSectionController {
 
+    private final UserService userService;
     private final TodoSectionService todoSectionService;
     private final TasksFacade tasksFacade;
     private final TodoSectionModelAssembler assembler;
-    private final ModelMapper modelMapper;
 
     @Autowired
-    public TodoSectionController(TodoSectionService todoSectionService, TasksFacade tasksFacade,
-                                 TodoSectionModelAssembler assembler, ModelMapper modelMapper) {
+    public TodoSectionController(UserService userService, TodoSectionService todoSectionService,
+                                 TasksFacade tasksFacade, TodoSectionModelAssembler assembler) {
+        this.userService = userService;
         this.todoSectionService = todoSectionService;
         this.tasksFacade = tasksFacade;
         this.assembler = assembler;
-        this.modelMapper = modelMapper;
     }
 
     // get all sections
-    @ApiOperation(value = "List todo sections", notes = "List all todo sections")
+    @ApiOperation(value = "List todo sections", notes = "List the todo sections with the total, completed, starred and overdue task counters. " +
+            "Pass the ETag in the If-None-Match header to get 304 Not Modified if nothing has changed")
     @GetMapping(produces = "application/json")
-    public CollectionModel<EntityModel<TodoSection>> getSections(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-
-        List<EntityModel<TodoSection>> sections = todoSectionService.findSections(userDetails.getId())
+    public CollectionModel<EntityModel<TodoSectionProjection>> getSections(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(value = "page", required = false, defaultValue = "0") Integer pageNo,
+            @RequestParam(value = "size", required = false, defaultValue = "20") Integer pageSize,
+            @RequestParam(value = "sort", required = false, defaultValue = "createdAt") String sort,
+            WebRequest request) {
+
+        // the counters depend on the tasks and the date too, the version covers both
+        String eTag = ETags.of(userService.getDataVersion(userDetails.getId()), LocalDate.now().toString(),
+                ServletUriComponentsBuilder.fromCurrentRequest().toUriString());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        List<EntityModel<TodoSectionProjection>> sections = todoSectionService
+                .findSections(userDetails.getId(), pageNo, pageSize, sort)
                 .stream()
-                .map(projection -> modelMapper.map(projection, TodoSection.class))
                 .map(assembler::toModel)
                 .collect(Collectors.toList());
 
-        return CollectionModel.of(sections,
-                linkTo(methodOn(TodoSectionController.class).getSections(userDetails)).withSelfRel());
+        return CollectionModel.of(sections, linkTo(methodOn(TodoSectionController.class)
+                .getSections(userDetails, pageNo, pageSize, sort, null)).withSelfRel());
     }
 
     // get custom section by id
@@ -91,9 +110,8 @@ public class TodoSectionController {
     @PostMapping(consumes = "application/json")
     public ResponseEntity<String> createSection(@AuthenticationPrincipal UserDetailsImpl userDetails,
                                                 @Valid @RequestBody TodoSectionDto sectionDto) {
-        // User user = userService.findUserById(userDetails.getId());
-        User user = userDetails.getUser();
-        TodoSection section = todoSectionService.createSection(user, modelMapper.map(sectionDto, TodoSection.class));
+        User user = userService.getUserReference(userDetails.getId());
+        TodoSection section = todoSectionService.createSection(user, TodoSectionMapper.toEntity(sectionDto));
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}").buildAndExpand(section.getId()).toUri();
@@ -108,7 +126,7 @@ public class TodoSectionController {
                                                 @PathVariable("id") Long sectionId,
                                                 @Valid @RequestBody TodoSectionDto sectionDto) {
 
-        TodoSection mappedSection = modelMapper.map(sectionDto, TodoSection.class);
+        TodoSection mappedSection = TodoSectionMapper.toEntity(sectionDto);
         TodoSection section = todoSectionService.updateSection(userDetails.getUser(), sectionId, mappedSection);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .buildAndExpand(section.getId()).toUri();
@@ -119,13 +137,13 @@ public class TodoSectionController {
     // add tasks to the list
     @ApiOperation(value = "Add tasks to section", notes = "It permits to add tasks to section")
     @PostMapping(value = "/{id}/tasks", consumes = "application/json")
-    public ResponseEntity<String> addOrRemoveTasks(@AuthenticationPrincipal UserDetailsImpl userDetails,
+    public ResponseEntity<Map<String, Integer>> addOrRemoveTasks(@AuthenticationPrincipal UserDetailsImpl userDetails,
                                                    @PathVariable("id") Long sectionId,
                                                    @RequestBody TaskIdsWrapper wrapper,
                                                    @RequestParam(value = "do") FilterByOperation flag) {
 
-        tasksFacade.addTasksToOrRemoveFromSection(userDetails.getId(), sectionId, wrapper.tasks, flag);
-        return new ResponseEntity<>(HttpStatus.OK);
+        int updated = tasksFacade.addTasksToOrRemoveFromSection(userDetails.getId(), sectionId, wrapper.tasks, flag);
+        return ResponseEntity.ok(Map.of("updated", updated));
     }
 
 }
@@ -4,31 +4,60 @@ package ru.example.todo.controller;
  * Time: 6:35 PM
  * */
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.example.todo.controller.assembler.TodoTaskModelAssembler;
+import ru.example.todo.controller.wrapper.TaskOperationsWrapper;
+import ru.example.todo.domain.TaskFilter;
+import ru.example.todo.domain.TaskOperation;
+import ru.example.todo.domain.TaskOperationResult;
 import ru.example.todo.dto.TodoTaskDto;
 import ru.example.todo.entity.TodoTask;
 import ru.example.todo.entity.User;
+import ru.example.todo.enums.DataFormat;
+import ru.example.todo.enums.filters.FilterByBoolean;
 import ru.example.todo.enums.filters.FilterByDate;
 import ru.example.todo.security.UserDetailsImpl;
 import ru.example.todo.service.TodoTaskService;
 import ru.example.todo.service.UserService;
+import ru.example.todo.util.ETags;
+import ru.example.todo.util.TaskChangeWriter;
+import ru.example.todo.util.mappers.TodoTaskMapper;
 
 import javax.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -39,39 +68,87 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
 public class TodoTaskController {
 
+    private static final int EXPORT_BUFFER_SIZE = 8192;
+
     private final UserService userService;
     private final TodoTaskService todoTaskService;
     private final TodoTaskModelAssembler assembler;
-    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public TodoTaskController(UserService userService, TodoTaskService todoTaskService,
-                              TodoTaskModelAssembler assembler, ModelMapper modelMapper) {
+                              TodoTaskModelAssembler assembler, ObjectMapper objectMapper) {
         this.userService = userService;
         this.todoTaskService = todoTaskService;
         this.assembler = assembler;
-        this.modelMapper = modelMapper;
+        this.objectMapper = objectMapper;
     }
 
-    // todo: filter by completed or starred params
     // get all tasks
-    @ApiOperation(value = "List tasks", notes = "List all tasks")
+    @ApiOperation(value = "List tasks", notes = "List all tasks matching the filters, pass the cursor " +
+            "from the next link to get the following page without the offset. Pass the ETag " +
+            "in the If-None-Match header to get 304 Not Modified if the tasks haven't changed")
     @GetMapping(produces = "application/json")
     public CollectionModel<EntityModel<TodoTask>> getTasks(
             @AuthenticationPrincipal UserDetailsImpl userDetails,
             @RequestParam(value = "page", required = false, defaultValue = "0") Integer pageNo,
             @RequestParam(value = "size", required = false, defaultValue = "20") Integer pageSize,
             @RequestParam(value = "date", required = false, defaultValue = "ALL") FilterByDate date,
-            @RequestParam(value = "sort", required = false, defaultValue = "createdAt") String sort) {
+            @RequestParam(value = "sort", required = false, defaultValue = "createdAt") String sort,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "completed", required = false) FilterByBoolean completed,
+            @RequestParam(value = "starred", required = false) FilterByBoolean starred,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "section", required = false) Long sectionId,
+            @RequestParam(value = "title", required = false) String titlePrefix,
+            WebRequest request) {
+
+        // the version is read before the tasks, a concurrent write changes the next ETag
+        if (request.checkNotModified(eTag(userDetails.getId()))) {
+            return null;
+        }
+
+        TaskFilter filter = new TaskFilter.Builder()
+                .date(date)
+                .completed(completed == null ? null : completed == FilterByBoolean.TRUE)
+                .starred(starred == null ? null : starred == FilterByBoolean.TRUE)
+                .from(from)
+                .to(to)
+                .sectionId(sectionId)
+                .titlePrefix(titlePrefix)
+                .build();
+
+        List<TodoTask> tasks = after == null
+                ? todoTaskService.findTasks(userDetails.getId(), pageNo, pageSize, filter, sort)
+                : todoTaskService.findTasksAfter(userDetails.getId(), after, pageSize, filter, sort);
 
-        List<EntityModel<TodoTask>> todos = todoTaskService
-                .findTasks(userDetails.getId(), pageNo, pageSize, date, sort)
-                .stream()
+        List<EntityModel<TodoTask>> todos = tasks.stream()
                 .map(assembler::toModel)
                 .collect(Collectors.toList());
 
-        return CollectionModel.of(todos, linkTo(methodOn(TodoTaskController.class)
-                .getTasks(userDetails, pageNo, pageSize, date, sort)).withSelfRel());
+        CollectionModel<EntityModel<TodoTask>> model = CollectionModel.of(todos, linkTo(methodOn(TodoTaskController.class)
+                .getTasks(userDetails, pageNo, pageSize, date, sort, after,
+                        completed, starred, from, to, sectionId, titlePrefix, null)).withSelfRel());
+
+        String next = todoTaskService.getNextCursor(tasks, pageSize, sort);
+        if (next != null) {
+            String href = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page")
+                    .replaceQueryParam("after", next)
+                    .toUriString();
+            model.add(Link.of(href, IanaLinkRelations.NEXT));
+        }
+
+        return model;
+    }
+
+    // the body depends on the query, on the date for the date filters and on the host for the links
+    private String eTag(Long userId) {
+        return ETags.of(userService.getDataVersion(userId), LocalDate.now().toString(),
+                ServletUriComponentsBuilder.fromCurrentRequest().toUriString());
     }
 
     // get task by id
@@ -83,6 +160,101 @@ public class TodoTaskController {
         return assembler.toModel(todoTaskService.findTaskById(userDetails.getId(), taskId));
     }
 
+    // export all tasks
+    @ApiOperation(value = "Export tasks", notes = "Stream all the tasks as NDJSON, a JSON object per line, " +
+            "or as CSV with a header line. The response is compressed with gzip if the client accepts it")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(value = "format", required = false, defaultValue = "NDJSON") DataFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Long userId = userDetails.getId();
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        // written while the cursor is read, compressed a buffer at a time
+        StreamingResponseBody body = out -> {
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE) : null;
+            OutputStream stream = compressed != null ? compressed : out;
+            if (format == DataFormat.CSV) {
+                exportCsv(userId, stream);
+            } else {
+                exportNdjson(userId, stream);
+            }
+            if (compressed != null) compressed.finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + format.getExtension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(body);
+    }
+
+    // the generator doesn't close the response stream, the gzip trailer is written after it
+    private void exportNdjson(Long userId, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            todoTaskService.forEachTask(userId, task -> {
+                try {
+                    TaskChangeWriter.writeJson(json, task);
+                    json.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    private void exportCsv(Long userId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+        writer.write(TaskChangeWriter.CSV_HEADER);
+        writer.write("\r\n");
+        todoTaskService.forEachTask(userId, task -> {
+            try {
+                TaskChangeWriter.writeCsv(writer, task);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        writer.flush();
+    }
+
+    // gzip or x-gzip, or * when neither is listed, unless refused with q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+
+        Boolean gzip = null;
+        Boolean any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) accepted = qValue(param.substring(2)) > 0;
+            }
+
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = accepted;
+            } else if (name.equals("*")) {
+                any = accepted;
+            }
+        }
+        return gzip != null ? gzip : Boolean.TRUE.equals(any);
+    }
+
+    // an invalid weight refuses the coding
+    private static double qValue(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
     // delete task by id
     @ApiOperation(value = "Remove task", notes = "It permits to remove a task")
     @DeleteMapping("/{id}")
@@ -97,8 +269,8 @@ public class TodoTaskController {
     @PostMapping(consumes = "application/json")
     public ResponseEntity<String> createTask(@AuthenticationPrincipal UserDetailsImpl userDetails,
                                              @Valid @RequestBody TodoTaskDto taskDto) {
-        User user = userService.findUserById(userDetails.getId());
-        TodoTask task = todoTaskService.createTask(user, modelMapper.map(taskDto, TodoTask.class));
+        User user = userService.getUserReference(userDetails.getId());
+        TodoTask task = todoTaskService.createTask(user, TodoTaskMapper.toEntity(taskDto));
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}").buildAndExpand(task.getId()).toUri();
@@ -113,7 +285,7 @@ public class TodoTaskController {
                                              @Valid @RequestBody TodoTaskDto taskDto) {
 
         TodoTask task = todoTaskService.findTaskById(userDetails.getId(), taskId);
-        modelMapper.map(taskDto, task);
+        TodoTaskMapper.copy(taskDto, task);
         todoTaskService.save(task);
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -122,4 +294,21 @@ public class TodoTaskController {
         return ResponseEntity.ok().header("Location", location.toString()).build();
     }
 
+    // apply a batch of operations
+    @ApiOperation(value = "Apply operations", notes = "It permits to create, update and delete tasks " +
+            "in one request and one transaction, the results follow the order of the operations")
+    @PostMapping(value = "/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<List<TaskOperationResult>> applyOperations(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @Valid @RequestBody TaskOperationsWrapper wrapper) {
+
+        User user = userService.getUserReference(userDetails.getId());
+        List<TaskOperation> operations = wrapper.operations.stream()
+                .map(operation -> new TaskOperation(operation.getOp(), operation.getId(),
+                        operation.getTask() == null ? null : TodoTaskMapper.toEntity(operation.getTask())))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(todoTaskService.applyOperations(user, operations));
+    }
+
 }
@@ -0,0 +1,112 @@
+package ru.example.todo.controller.assembler;
+/*
+ * Date: 10/18/26
+ * Time: 8:05 PM
+ * */
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A link resolved once by <b>WebMvcLinkBuilder</b> and expanded against the base URI of the request.
+ * <b>linkTo(methodOn(...))</b> proxies the controller and resolves the mapping reflectively,
+ * for every item of a page otherwise. The href is the same as the one <b>linkTo</b> builds.
+ */
+final class CachedLink {
+
+    // stands for the entity id in the resolved href
+    private static final long ID_MARKER = Long.MIN_VALUE;
+    private static final String ID_MARKER_STRING = String.valueOf(ID_MARKER);
+
+    private static final String BASE_URI_ATTRIBUTE = CachedLink.class.getName() + ".BASE_URI";
+
+    private final Function<Long, Link> resolver;
+    private volatile Template template;
+
+    private CachedLink(Function<Long, Link> resolver) {
+        this.resolver = resolver;
+    }
+
+    static CachedLink of(Supplier<Link> resolver) {
+        return new CachedLink(id -> resolver.get());
+    }
+
+    static CachedLink withId(Function<Long, Link> resolver) {
+        return new CachedLink(resolver);
+    }
+
+    Link expand() {
+        return expand(ID_MARKER);
+    }
+
+    Link expand(Long id) {
+        String baseUri = baseUri();
+        if (id == null || baseUri == null) return resolver.apply(id);
+
+        Template template = this.template;
+        if (template == null) {
+            template = Template.of(resolver.apply(ID_MARKER), baseUri);
+            if (template == null) return resolver.apply(id);
+            this.template = template;
+        }
+        return template.expand(baseUri, id);
+    }
+
+    // resolved once per request, as WebMvcLinkBuilder does
+    private static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return null;
+
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+    // the href relative to the base URI, split around the id
+    private static final class Template {
+
+        private final LinkRelation rel;
+        private final String prefix;
+        private final String suffix; // null if the link has no id
+        private volatile Link last; // a link without an id is the same for the whole request
+
+        private Template(LinkRelation rel, String prefix, String suffix) {
+            this.rel = rel;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        static Template of(Link link, String baseUri) {
+            String href = link.getHref();
+            if (!href.startsWith(baseUri)) return null;
+
+            String relative = href.substring(baseUri.length());
+            int index = relative.indexOf(ID_MARKER_STRING);
+            return index < 0
+                    ? new Template(link.getRel(), relative, null)
+                    : new Template(link.getRel(), relative.substring(0, index),
+                    relative.substring(index + ID_MARKER_STRING.length()));
+        }
+
+        Link expand(String baseUri, long id) {
+            if (suffix != null) return Link.of(baseUri + prefix + id + suffix, rel);
+
+            Link link = last;
+            if (link == null || !link.getHref().regionMatches(0, baseUri, 0, baseUri.length())
+                    || link.getHref().length() != baseUri.length() + prefix.length()) {
+                link = Link.of(baseUri + prefix, rel);
+                last = link;
+            }
+            return link;
+        }
+    }
+}
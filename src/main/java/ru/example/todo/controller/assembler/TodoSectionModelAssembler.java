@@ -8,6 +8,7 @@ import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 import ru.example.todo.controller.TodoSectionController;
+import ru.example.todo.domain.TodoSectionProjection;
 import ru.example.todo.entity.TodoSection;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -16,10 +17,18 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class TodoSectionModelAssembler implements RepresentationModelAssembler<TodoSection, EntityModel<TodoSection>> {
 
+    private final CachedLink selfLink = CachedLink.withId(id -> linkTo(methodOn(TodoSectionController.class)
+            .getSection(null, id)).withSelfRel());
+
+    private final CachedLink sectionsLink = CachedLink.of(() -> linkTo(methodOn(TodoSectionController.class)
+            .getSections(null, null, null, null, null)).withRel("sections"));
+
     @Override
     public EntityModel<TodoSection> toModel(TodoSection section) {
-        return EntityModel.of(section,
-                linkTo(methodOn(TodoSectionController.class).getSection(null, section.getId())).withSelfRel(),
-                linkTo(methodOn(TodoSectionController.class).getSections(null)).withRel("sections"));
+        return EntityModel.of(section, selfLink.expand(section.getId()), sectionsLink.expand());
+    }
+
+    public EntityModel<TodoSectionProjection> toModel(TodoSectionProjection section) {
+        return EntityModel.of(section, selfLink.expand(section.getId()), sectionsLink.expand());
     }
 }
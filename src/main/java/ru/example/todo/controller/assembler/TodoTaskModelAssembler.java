@@ -16,13 +16,16 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class TodoTaskModelAssembler implements RepresentationModelAssembler<TodoTask, EntityModel<TodoTask>> {
 
+    private final CachedLink selfLink = CachedLink.withId(id -> linkTo(methodOn(TodoTaskController.class)
+            .getTask(null, id)).withSelfRel());
+
+    private final CachedLink tasksLink = CachedLink.of(() -> linkTo(methodOn(TodoTaskController.class)
+            .getTasks(null, null, null, null, null, null,
+                    null, null, null, null, null, null, null)).withRel("tasks"));
+
     @Override
     public EntityModel<TodoTask> toModel(TodoTask todoTask) {
-        return EntityModel.of(todoTask,
-                linkTo(methodOn(TodoTaskController.class)
-                        .getTask(null, todoTask.getId())).withSelfRel(),
-                linkTo(methodOn(TodoTaskController.class)
-                        .getTasks(null, null, null, null, null)).withRel("tasks"));
+        return EntityModel.of(todoTask, selfLink.expand(todoTask.getId()), tasksLink.expand());
     }
 
 }
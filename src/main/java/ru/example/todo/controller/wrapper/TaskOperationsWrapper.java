@@ -0,0 +1,19 @@
+package ru.example.todo.controller.wrapper;
+/*
+ * Date: 10/18/26
+ * Time: 5:12 PM
+ * */
+
+import ru.example.todo.dto.TaskOperationDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public class TaskOperationsWrapper {
+    @Valid
+    @NotEmpty
+    @Size(max = 500, message = "At most 500 operations per request")
+    public List<TaskOperationDto> operations;
+}
@@ -0,0 +1,62 @@
+package ru.example.todo.domain;
+/*
+ * Date: 10/18/26
+ * Time: 9:25 PM
+ * */
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * An opaque delta sync position: the time the next sync reads the changes from.
+ * A client without a token gets all its tasks and sections.
+ */
+public final class SyncToken {
+
+    public static final SyncToken INITIAL = new SyncToken(Instant.EPOCH);
+
+    private final Instant since;
+
+    public SyncToken(Instant since) {
+        this.since = since;
+    }
+
+    /**
+     * Decodes the token from its string representation.
+     *
+     * @param token the encoded token
+     * @return the token
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static SyncToken decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new SyncToken(Instant.parse(decoded));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Malformed sync token: " + token, ex);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(since.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getSince() {
+        return since;
+    }
+
+    public Date getSinceDate() {
+        return Date.from(since);
+    }
+
+    @Override
+    public String toString() {
+        return "SyncToken{" +
+                "since=" + since +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+package ru.example.todo.domain;
+/*
+ * Date: 10/18/26
+ * Time: 9:20 PM
+ * */
+
+import java.time.LocalDate;
+import java.util.Date;
+
+// a created or updated task as the delta sync sends it, with the ids the entity hides
+public class TaskChange {
+
+    private final Long id;
+    private final String title;
+    private final boolean completed;
+    private final boolean starred;
+    private final LocalDate completionDate;
+    private final Long sectionId;
+    private final Date createdAt;
+    private final Date updatedAt;
+
+    public TaskChange(Long id, String title, boolean completed, boolean starred, LocalDate completionDate,
+                      Long sectionId, Date createdAt, Date updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.completed = completed;
+        this.starred = starred;
+        this.completionDate = completionDate;
+        this.sectionId = sectionId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public boolean isStarred() {
+        return starred;
+    }
+
+    public LocalDate getCompletionDate() {
+        return completionDate;
+    }
+
+    public Long getSectionId() {
+        return sectionId;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskChange{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", completed=" + completed +
+                ", starred=" + starred +
+                ", completionDate=" + completionDate +
+                ", sectionId=" + sectionId +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package ru.example.todo.domain;
+/*
+ * Date: 10/18/26
+ * Time: 10:12 AM
+ * */
+
+import ru.example.todo.entity.TodoTask;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * An opaque keyset pagination cursor: the sort key value and the id
+ * of the last task of a page. The next page starts right after this
+ * position, so its cost does not depend on how deep the client has scrolled.
+ */
+public final class TaskCursor {
+
+    public static final Set<String> SORT_FIELDS = Set.of("createdAt", "updatedAt");
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortField;
+    private final Instant value;
+    private final Long id;
+
+    public TaskCursor(String sortField, Instant value, Long id) {
+        this.sortField = sortField;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Creates a cursor pointing at the given task.
+     *
+     * @param sortField the sort field, one of {@link #SORT_FIELDS}
+     * @param task      the last task of a page
+     * @return the cursor or <b>null</b>, if the task has no sort key value
+     */
+    public static TaskCursor of(String sortField, TodoTask task) {
+        Date value = "updatedAt".equals(sortField) ? task.getUpdatedAt() : task.getCreatedAt();
+        if (value == null || task.getId() == null) return null;
+        return new TaskCursor(sortField, value.toInstant(), task.getId());
+    }
+
+    /**
+     * Decodes the cursor from its string representation.
+     *
+     * @param cursor the encoded cursor
+     * @return the cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static TaskCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR);
+            if (parts.length != 3 || !SORT_FIELDS.contains(parts[0])) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            }
+            return new TaskCursor(parts[0], Instant.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, ex);
+        }
+    }
+
+    public String encode() {
+        String raw = sortField + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public Instant getValue() {
+        return value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskCursor{" +
+                "sortField='" + sortField + '\'' +
+                ", value=" + value +
+                ", id=" + id +
+                '}';
+    }
+
+}
@@ -0,0 +1,131 @@
+package ru.example.todo.domain;
+/*
+ * Date: 10/18/26
+ * Time: 7:10 PM
+ * */
+
+import ru.example.todo.enums.filters.FilterByDate;
+
+import java.time.LocalDate;
+
+/**
+ * The conditions of a task list request. Every condition is optional,
+ * the ones that are set are combined with AND into a single query.
+ *
+ * @see ru.example.todo.repository.TodoTaskRepositoryCustom
+ */
+public final class TaskFilter {
+
+    public static final TaskFilter ALL = new Builder().build();
+
+    private final FilterByDate date;
+    private final Boolean completed;
+    private final Boolean starred;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Long sectionId;
+    private final String titlePrefix;
+
+    public static class Builder {
+        private FilterByDate date = FilterByDate.ALL;
+        private Boolean completed;
+        private Boolean starred;
+        private LocalDate from;
+        private LocalDate to;
+        private Long sectionId;
+        private String titlePrefix;
+
+        public Builder date(FilterByDate val) {
+            if (val != null) date = val;
+            return this;
+        }
+
+        public Builder completed(Boolean val) {
+            completed = val;
+            return this;
+        }
+
+        public Builder starred(Boolean val) {
+            starred = val;
+            return this;
+        }
+
+        // inclusive
+        public Builder from(LocalDate val) {
+            from = val;
+            return this;
+        }
+
+        // inclusive
+        public Builder to(LocalDate val) {
+            to = val;
+            return this;
+        }
+
+        public Builder sectionId(Long val) {
+            sectionId = val;
+            return this;
+        }
+
+        public Builder titlePrefix(String val) {
+            titlePrefix = val == null || val.isBlank() ? null : val.trim();
+            return this;
+        }
+
+        public TaskFilter build() {
+            return new TaskFilter(this);
+        }
+    }
+
+    private TaskFilter(Builder builder) {
+        date = builder.date;
+        completed = builder.completed;
+        starred = builder.starred;
+        from = builder.from;
+        to = builder.to;
+        sectionId = builder.sectionId;
+        titlePrefix = builder.titlePrefix;
+    }
+
+    public FilterByDate getDate() {
+        return date;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public Boolean getStarred() {
+        return starred;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public Long getSectionId() {
+        return sectionId;
+    }
+
+    public String getTitlePrefix() {
+        return titlePrefix;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskFilter{" +
+                "date=" + date +
+                ", completed=" + completed +
+                ", starred=" + starred +
+                ", from=" + from +
+                ", to=" + to +
+                ", sectionId=" + sectionId +
+                ", titlePrefix='" + titlePrefix + '\'' +
+                '}';
+    }
+
+}
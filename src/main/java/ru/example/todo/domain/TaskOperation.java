@@ -0,0 +1,45 @@
+package ru.example.todo.domain;
+/*
+ * Date: 10/18/26
+ * Time: 5:15 PM
+ * */
+
+import ru.example.todo.entity.TodoTask;
+import ru.example.todo.enums.BatchOperation;
+
+/**
+ * A single operation of a batch: creates the task, updates the task
+ * with the given id with the non-null fields of the task, or deletes it.
+ */
+public final class TaskOperation {
+
+    private final BatchOperation op;
+    private final Long id;
+    private final TodoTask task;
+
+    public TaskOperation(BatchOperation op, Long id, TodoTask task) {
+        this.op = op;
+        this.id = id;
+        this.task = task;
+    }
+
+    public BatchOperation getOp() {
+        return op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public TodoTask getTask() {
+        return task;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskOperation{" +
+                "op=" + op +
+                ", id=" + id +
+                '}';
+    }
+}
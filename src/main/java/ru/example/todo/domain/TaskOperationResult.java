@@ -0,0 +1,70 @@
+package ru.example.todo.domain;
+/*
+ * Date: 10/18/26
+ * Time: 5:18 PM
+ * */
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
+import ru.example.todo.enums.BatchOperation;
+
+/**
+ * The outcome of a batch operation, at the same index as the operation in the request.
+ * The status is the one the single task endpoint would have responded with.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class TaskOperationResult {
+
+    private final int index;
+    private final BatchOperation op;
+    private final Long id;
+    private final int status;
+    private final String message;
+
+    private TaskOperationResult(int index, BatchOperation op, Long id, HttpStatus status, String message) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+        this.status = status.value();
+        this.message = message;
+    }
+
+    public static TaskOperationResult success(int index, BatchOperation op, Long id, HttpStatus status) {
+        return new TaskOperationResult(index, op, id, status, null);
+    }
+
+    public static TaskOperationResult failure(int index, BatchOperation op, Long id, HttpStatus status,
+                                              String message) {
+        return new TaskOperationResult(index, op, id, status, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public BatchOperation getOp() {
+        return op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskOperationResult{" +
+                "index=" + index +
+                ", op=" + op +
+                ", id=" + id +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -4,14 +4,23 @@ package ru.example.todo.domain;
  * Time: 2:10 PM
  * */
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.hateoas.server.core.Relation;
+
 import java.util.Date;
 
+@Relation(value = "section", collectionRelation = "sections")
 public class TodoSectionProjection {
 
     private Long id;
     private String title;
     private Date updatedAt;
     private Date createdAt;
+    private Long taskCount;
+    private Long completedCount;
+    private Long starredCount;
+    private Long overdueCount;
 
     public TodoSectionProjection(Long id) {
         this.id = id;
@@ -33,6 +42,17 @@ public class TodoSectionProjection {
         this.createdAt = createdAt;
     }
 
+    public TodoSectionProjection(Long id, String title, Date updatedAt, Date createdAt,
+                                 Long taskCount, Long completedCount, Long starredCount, Long overdueCount) {
+        this(id, title, updatedAt, createdAt);
+        this.taskCount = taskCount;
+        this.completedCount = completedCount;
+        this.starredCount = starredCount;
+        this.overdueCount = overdueCount;
+    }
+
+    // the id is in the self link, as for TodoSection
+    @JsonIgnore
     public Long getId() {
         return id;
     }
@@ -41,14 +61,33 @@ public class TodoSectionProjection {
         return title;
     }
 
+    @JsonFormat(timezone = "Asia/Yekaterinburg")
     public Date getUpdatedAt() {
         return updatedAt;
     }
 
+    @JsonFormat(timezone = "Asia/Yekaterinburg")
     public Date getCreatedAt() {
         return createdAt;
     }
 
+    public Long getTaskCount() {
+        return taskCount;
+    }
+
+    public Long getCompletedCount() {
+        return completedCount;
+    }
+
+    public Long getStarredCount() {
+        return starredCount;
+    }
+
+    // the open tasks with a past completion date
+    public Long getOverdueCount() {
+        return overdueCount;
+    }
+
     @Override
     public String toString() {
         return "TodoSectionProjection{" +
@@ -56,6 +95,10 @@ public class TodoSectionProjection {
                 ", title='" + title + '\'' +
                 ", updatedAt=" + updatedAt +
                 ", createdAt=" + createdAt +
+                ", taskCount=" + taskCount +
+                ", completedCount=" + completedCount +
+                ", starredCount=" + starredCount +
+                ", overdueCount=" + overdueCount +
                 '}';
     }
 
@@ -0,0 +1,65 @@
+package ru.example.todo.dto;
+/*
+ * Date: 10/18/26
+ * Time: 5:10 PM
+ * */
+
+import ru.example.todo.enums.BatchOperation;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+public class TaskOperationDto {
+
+    @NotNull
+    private BatchOperation op;
+
+    // the task to update or delete
+    private Long id;
+
+    // the fields to create or update the task with
+    @Valid
+    private TodoTaskDto task;
+
+    public TaskOperationDto() {
+    }
+
+    public TaskOperationDto(BatchOperation op, Long id, TodoTaskDto task) {
+        this.op = op;
+        this.id = id;
+        this.task = task;
+    }
+
+    public BatchOperation getOp() {
+        return op;
+    }
+
+    public void setOp(BatchOperation op) {
+        this.op = op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TodoTaskDto getTask() {
+        return task;
+    }
+
+    public void setTask(TodoTaskDto task) {
+        this.task = task;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskOperationDto{" +
+                "op=" + op +
+                ", id=" + id +
+                ", task=" + task +
+                '}';
+    }
+}
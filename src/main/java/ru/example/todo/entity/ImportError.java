@@ -0,0 +1,64 @@
+package ru.example.todo.entity;
+/*
+ * Date: 10/18/26
+ * Time: 11:10 PM
+ * */
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.util.Objects;
+
+// a rejected row of an import, the line is the first line of the row in the upload
+@Embeddable
+public class ImportError {
+
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
+    @Column(nullable = false)
+    private int line;
+
+    @Column(nullable = false)
+    private String message;
+
+    public ImportError() {
+    }
+
+    public ImportError(int line, String message) {
+        this.line = line;
+        this.message = message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ImportError that = (ImportError) o;
+
+        if (line != that.line) return false;
+        return Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = line;
+        result = 31 * result + (message != null ? message.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportError{" +
+                "line=" + line +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,141 @@
+package ru.example.todo.entity;
+/*
+ * Date: 10/18/26
+ * Time: 11:05 PM
+ * */
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import ru.example.todo.enums.ImportStatus;
+
+import javax.persistence.*;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// a background import of tasks, its progress as of the last committed batch
+@Entity
+@Table(name = "import_job", indexes = @Index(name = "import_job_user_id_idx", columnList = "user_id"))
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private ImportStatus status = ImportStatus.QUEUED;
+
+    // rows read, the imported and the failed ones
+    private int processed;
+
+    private int imported;
+
+    private int failed;
+
+    // why the job failed as a whole
+    private String message;
+
+    // a set rather than a bag, so the errors of a batch are inserted without rewriting the others
+    @ElementCollection
+    @CollectionTable(name = "import_job_error", joinColumns = @JoinColumn(name = "job_id"),
+            indexes = @Index(name = "import_job_error_job_id_idx", columnList = "job_id"))
+    @OrderBy("line")
+    private Set<ImportError> errors = new LinkedHashSet<>();
+
+    @JsonFormat(timezone = "Asia/Yekaterinburg")
+    @CreationTimestamp
+    private Date createdAt;
+
+    @JsonFormat(timezone = "Asia/Yekaterinburg")
+    @UpdateTimestamp
+    private Date updatedAt;
+
+    public ImportJob() {
+    }
+
+    public ImportJob(Long userId) {
+        this.userId = userId;
+    }
+
+    // only the first maxErrors errors are kept, the failed counter has them all
+    public void addProgress(int processed, int imported, List<ImportError> errors, int maxErrors) {
+        this.processed += processed;
+        this.imported += imported;
+        this.failed += errors.size();
+        for (ImportError error : errors) {
+            if (this.errors.size() >= maxErrors) break;
+            this.errors.add(error);
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public ImportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportStatus status) {
+        this.status = status;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Set<ImportError> getErrors() {
+        return errors;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportJob{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", status=" + status +
+                ", processed=" + processed +
+                ", imported=" + imported +
+                ", failed=" + failed +
+                ", message='" + message + '\'' +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
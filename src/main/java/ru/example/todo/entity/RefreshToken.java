@@ -14,22 +14,27 @@ import java.util.Date;
 import java.util.Objects;
 
 @Entity
-@Table(name = "tokens")
+@Table(name = "tokens",
+        uniqueConstraints = @UniqueConstraint(name = "tokens_user_id_key", columnNames = "user_id"),
+        indexes = @Index(name = "tokens_expires_at_index", columnList = "expires_at"))
 public class RefreshToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // the SHA-256 digest of the token, the token itself is never stored
     @NotBlank
-    @Column(unique = true)
-    private String value;
+    @Column(name = "token_hash", length = 64, nullable = false, unique = true)
+    private String tokenHash;
 
     @NotNull
+    @Column(name = "user_id")
     private Long userId;
 
     private String createdByIp;
 
+    @Column(name = "expires_at")
     private Date expiresAt;
 
     @CreationTimestamp
@@ -41,8 +46,8 @@ public class RefreshToken {
     public RefreshToken() {
     }
 
-    public RefreshToken(String value, Long userId, Date expiresAt) {
-        this.value = value;
+    public RefreshToken(String tokenHash, Long userId, Date expiresAt) {
+        this.tokenHash = tokenHash;
         this.userId = userId;
         this.expiresAt = expiresAt;
     }
@@ -51,8 +56,8 @@ public class RefreshToken {
         return id;
     }
 
-    public String getValue() {
-        return value;
+    public String getTokenHash() {
+        return tokenHash;
     }
 
     public Long getUserId() {
@@ -71,8 +76,8 @@ public class RefreshToken {
         return updatedAt;
     }
 
-    public void setValue(String value) {
-        this.value = value;
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public void setUserId(Long userId) {
@@ -99,14 +104,14 @@ public class RefreshToken {
         RefreshToken that = (RefreshToken) o;
 
         if (!Objects.equals(id, that.id)) return false;
-        if (!Objects.equals(value, that.value)) return false;
+        if (!Objects.equals(tokenHash, that.tokenHash)) return false;
         return Objects.equals(userId, that.userId);
     }
 
     @Override
     public int hashCode() {
         int result = id != null ? id.hashCode() : 0;
-        result = 31 * result + (value != null ? value.hashCode() : 0);
+        result = 31 * result + (tokenHash != null ? tokenHash.hashCode() : 0);
         result = 31 * result + (userId != null ? userId.hashCode() : 0);
         return result;
     }
@@ -115,7 +120,7 @@ public class RefreshToken {
     public String toString() {
         return "RefreshToken{" +
                 "id=" + id +
-                ", value='" + value + '\'' +
+                ", tokenHash='" + tokenHash + '\'' +
                 ", userId=" + userId +
                 ", createdByIp='" + createdByIp + '\'' +
                 ", expiresAt=" + expiresAt +
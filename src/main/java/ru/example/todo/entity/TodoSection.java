@@ -20,10 +20,16 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "section")
+@NamedEntityGraph(name = TodoSection.WITH_TASKS, attributeNodes = @NamedAttributeNode("todoTasks"))
+@Table(name = "section", indexes = {
+        @Index(name = "section_user_id_idx", columnList = "user_id"),
+        @Index(name = "section_user_id_updated_at_idx", columnList = "user_id, updated_at")})
 @Relation(value = "section", collectionRelation = "sections")
 public class TodoSection {
 
+    // fetches the tasks with the section in one statement
+    public static final String WITH_TASKS = "TodoSection.todoTasks";
+
     @Id
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,8 +47,10 @@ public class TodoSection {
 
     @JsonFormat(timezone = "Asia/Yekaterinburg")
     @UpdateTimestamp
+    @Column(name = "updated_at")
     private Date updatedAt;
 
+    // the tasks are detached by the "on delete set null" foreign key, never loaded to delete the section
     @OneToMany(mappedBy = "todoSection", cascade = {CascadeType.PERSIST}, fetch = FetchType.LAZY)
     List<TodoTask> todoTasks = new ArrayList<>();
 
@@ -52,11 +60,6 @@ public class TodoSection {
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private User user;
 
-    @PreRemove
-    private void preRemove() {
-        todoTasks.forEach(task -> task.setTodoSection(null));
-    }
-
     public TodoSection() {
     }
 
@@ -18,13 +18,18 @@ import java.util.Date;
 import java.util.Objects;
 
 @Entity
-@Table(name = "task")
+@Table(name = "task", indexes = {
+        @Index(name = "task_user_id_created_at_id_idx", columnList = "user_id, created_at desc, id desc"),
+        @Index(name = "task_user_id_updated_at_id_idx", columnList = "user_id, updated_at desc, id desc"),
+        @Index(name = "task_list_id_idx", columnList = "list_id")})
 @Relation(value = "task", collectionRelation = "tasks")
 public class TodoTask {
 
     @Id
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // ids are taken from the sequence in blocks, so the inserts can be batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_id_seq")
+    @SequenceGenerator(name = "task_id_seq", sequenceName = "task_id_seq", allocationSize = 50)
     private Long id;
 
     @Size(min = 3, max = 80, message = "Size must be between 3 and 80")
@@ -41,17 +46,20 @@ public class TodoTask {
 
     @JsonFormat(timezone = "Asia/Yekaterinburg")
     @CreationTimestamp
+    @Column(name = "created_at")
     private Date createdAt;
 
     @JsonFormat(timezone = "Asia/Yekaterinburg")
     @UpdateTimestamp
+    @Column(name = "updated_at")
     private Date updatedAt;
 
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @ManyToOne(fetch = FetchType.LAZY,
             cascade = {CascadeType.PERSIST, CascadeType.MERGE,
                     CascadeType.DETACH, CascadeType.REFRESH})
-    @JoinColumn(name = "list_id")
+    @JoinColumn(name = "list_id", foreignKey = @ForeignKey(name = "task_list_id_fkey",
+            foreignKeyDefinition = "foreign key (list_id) references section on update cascade on delete set null"))
     private TodoSection todoSection;
 
     // @NotNull
@@ -0,0 +1,76 @@
+package ru.example.todo.entity;
+/*
+ * Date: 10/18/26
+ * Time: 9:10 PM
+ * */
+
+import ru.example.todo.enums.EntityType;
+
+import javax.persistence.*;
+import java.util.Date;
+
+// a deleted task or section, so the delta sync can tell the clients to delete it too
+@Entity
+@Table(name = "tombstone", indexes = {
+        @Index(name = "tombstone_user_id_deleted_at_idx", columnList = "user_id, deleted_at"),
+        @Index(name = "tombstone_deleted_at_idx", columnList = "deleted_at")})
+public class Tombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Date deletedAt;
+
+    public Tombstone() {
+    }
+
+    public Tombstone(Long userId, EntityType entityType, Long entityId, Date deletedAt) {
+        this.userId = userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Date getDeletedAt() {
+        return deletedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Tombstone{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", entityType=" + entityType +
+                ", entityId=" + entityId +
+                ", deletedAt=" + deletedAt +
+                '}';
+    }
+}
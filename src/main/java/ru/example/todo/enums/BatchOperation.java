@@ -0,0 +1,12 @@
+package ru.example.todo.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+public enum BatchOperation {
+    CREATE, UPDATE, DELETE;
+
+    @JsonCreator
+    public static BatchOperation fromString(String value) {
+        return value == null ? null : valueOf(value.toUpperCase());
+    }
+}
@@ -0,0 +1,6 @@
+package ru.example.todo.enums;
+
+// the entities the delta sync keeps tombstones for
+public enum EntityType {
+    TASK, SECTION
+}
@@ -0,0 +1,5 @@
+package ru.example.todo.enums;
+
+public enum ImportStatus {
+    QUEUED, RUNNING, DONE, FAILED
+}
@@ -2,12 +2,37 @@ package ru.example.todo.enums;
 
 import org.springframework.security.core.GrantedAuthority;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Role implements GrantedAuthority {
 
+    // the ordinals are encoded in the access tokens, new roles must be appended
     USER, ADMIN;
 
+    private static final Role[] VALUES = values();
+
     @Override
     public String getAuthority() {
         return name();
     }
+
+    // packs the roles into a bitmask over the ordinals
+    public static int toMask(Set<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= 1 << role.ordinal();
+        }
+        return mask;
+    }
+
+    public static Set<Role> fromMask(int mask) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : VALUES) {
+            if ((mask & 1 << role.ordinal()) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
 }
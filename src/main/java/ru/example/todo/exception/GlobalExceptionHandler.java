@@ -5,6 +5,7 @@ package ru.example.todo.exception;
  * */
 
 import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -48,6 +49,27 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.valueOf(error.getStatus()));
     }
 
+    @ExceptionHandler
+    public ResponseEntity<CustomErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex) {
+
+        var error = new CustomErrorResponse.Builder()
+                .status(ex.getHttpStatus())
+                .error(ex.getError())
+                .message(ex.getMessage()).build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter()))
+                .body(error);
+    }
+
+    // the streamingExecutor queue is full
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<CustomErrorResponse> handleTaskRejectedException(TaskRejectedException ex) {
+
+        return handleServiceUnavailableException(
+                new ServiceUnavailableException("Too many responses in progress, try again later", 5));
+    }
+
     @ExceptionHandler(ConversionFailedException.class)
     @ResponseStatus(value = HttpStatus.BAD_REQUEST)
     public ResponseEntity<CustomErrorResponse> handleException(RuntimeException ex) {
@@ -0,0 +1,22 @@
+package ru.example.todo.exception;
+/*
+ * Date: 10/18/26
+ * Time: 3:15 PM
+ * */
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends CustomException {
+
+    // seconds
+    private final long retryAfter;
+
+    public ServiceUnavailableException(String message, long retryAfter) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfter = retryAfter;
+    }
+
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+}
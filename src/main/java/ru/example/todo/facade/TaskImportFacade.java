@@ -0,0 +1,12 @@
+package ru.example.todo.facade;
+
+import ru.example.todo.entity.ImportJob;
+import ru.example.todo.enums.DataFormat;
+
+import java.io.InputStream;
+
+public interface TaskImportFacade {
+
+    ImportJob submitImport(Long userId, DataFormat format, InputStream body, boolean gzip);
+
+}
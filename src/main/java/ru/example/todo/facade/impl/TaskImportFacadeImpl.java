@@ -0,0 +1,114 @@
+package ru.example.todo.facade.impl;
+/*
+ * Date: 10/19/26
+ * Time: 12:05 AM
+ * */
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import ru.example.todo.config.properties.ImportProperties;
+import ru.example.todo.entity.ImportJob;
+import ru.example.todo.enums.DataFormat;
+import ru.example.todo.enums.ImportStatus;
+import ru.example.todo.exception.CustomException;
+import ru.example.todo.exception.ServiceUnavailableException;
+import ru.example.todo.facade.TaskImportFacade;
+import ru.example.todo.scheduling.TaskImportRunner;
+import ru.example.todo.service.TaskImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+@Component
+public class TaskImportFacadeImpl implements TaskImportFacade {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportFacadeImpl.class.getName());
+
+    private static final int BUFFER_SIZE = 8192;
+    // seconds
+    private static final long RETRY_AFTER = 60;
+
+    private final TaskImportService taskImportService;
+    private final TaskImportRunner taskImportRunner;
+    private final long maxSize;
+
+    public TaskImportFacadeImpl(TaskImportService taskImportService, TaskImportRunner taskImportRunner,
+                                ImportProperties importProperties) {
+        this.taskImportService = taskImportService;
+        this.taskImportRunner = taskImportRunner;
+        this.maxSize = importProperties.getMaxSize();
+    }
+
+    // the request ends once the upload is stored, the rows are imported in the background;
+    // the job is created first, so a user already importing is turned away before the upload is read
+    @Override
+    public ImportJob submitImport(Long userId, DataFormat format, InputStream body, boolean gzip) {
+        ImportJob job = taskImportService.createJob(userId);
+        Path file;
+        try {
+            file = store(format, body, gzip);
+        } catch (CustomException ex) {
+            taskImportService.updateStatus(job.getId(), ImportStatus.FAILED, ex.getMessage());
+            throw ex;
+        }
+        try {
+            taskImportRunner.run(job.getId(), userId, format, file);
+        } catch (TaskRejectedException ex) {
+            delete(file);
+            taskImportService.updateStatus(job.getId(), ImportStatus.FAILED, "Too many imports in progress");
+            throw new ServiceUnavailableException("Too many imports in progress, try again later", RETRY_AFTER);
+        }
+        return job;
+    }
+
+    // copied to a temporary file as it arrives, so the upload is never held in memory
+    private Path store(DataFormat format, InputStream body, boolean gzip) {
+        Path file;
+        try {
+            file = Files.createTempFile("task-import-", "." + format.getExtension());
+        } catch (IOException ex) {
+            log.error("Could not create the import file", ex);
+            throw new CustomException("Could not store the upload", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        boolean stored = false;
+        try (InputStream in = gzip ? new GZIPInputStream(body, BUFFER_SIZE) : body;
+             OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                // counted after decompression, a small gzip body may hold a large upload
+                size += read;
+                if (size > maxSize) {
+                    throw new CustomException("The upload is larger than " + maxSize + " bytes",
+                            HttpStatus.PAYLOAD_TOO_LARGE);
+                }
+                out.write(buffer, 0, read);
+            }
+            if (size == 0) throw new CustomException("The upload is empty", HttpStatus.BAD_REQUEST);
+
+            stored = true;
+            return file;
+        } catch (IOException ex) {
+            throw new CustomException("Could not read the upload", HttpStatus.BAD_REQUEST);
+        } finally {
+            if (!stored) delete(file);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete the import file {}: {}", file, ex.getMessage());
+        }
+    }
+}
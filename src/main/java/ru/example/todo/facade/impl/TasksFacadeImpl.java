@@ -6,14 +6,12 @@ package ru.example.todo.facade.impl;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import ru.example.todo.entity.TodoTask;
 import ru.example.todo.enums.filters.FilterByOperation;
 import ru.example.todo.exception.CustomException;
 import ru.example.todo.facade.TasksFacade;
 import ru.example.todo.service.TodoSectionService;
 import ru.example.todo.service.TodoTaskService;
 
-import java.util.List;
 import java.util.Set;
 
 @Component
@@ -29,13 +27,16 @@ public class TasksFacadeImpl implements TasksFacade {
 
 
     @Override
-    public void addTasksToOrRemoveFromSection(Long userId, Long sectionId, Set<Long> taskIds, FilterByOperation flag) {
+    public int addTasksToOrRemoveFromSection(Long userId, Long sectionId, Set<Long> taskIds, FilterByOperation flag) {
 
         if (taskIds == null || taskIds.isEmpty()) {
             throw new CustomException("Tasks IDs are required", HttpStatus.BAD_REQUEST);
         }
 
-        List<TodoTask> tasks = taskService.findTasksByIds(taskIds, userId);
-        sectionService.addTasksToOrRemoveFromSection(userId, sectionId, tasks, flag);
+        if (!sectionService.existsSection(userId, sectionId)) {
+            throw new CustomException("Section not found: " + sectionId, HttpStatus.NOT_FOUND);
+        }
+
+        return taskService.updateTasksSection(userId, sectionId, taskIds, flag);
     }
 }
@@ -0,0 +1,20 @@
+package ru.example.todo.repository;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.example.todo.entity.ImportJob;
+import ru.example.todo.enums.ImportStatus;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Optional;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    // the progress along with the kept errors, in one query
+    @EntityGraph(attributePaths = "errors")
+    Optional<ImportJob> findByIdAndUserId(Long id, Long userId);
+
+    boolean existsByUserIdAndStatusInAndUpdatedAtAfter(Long userId, Collection<ImportStatus> statuses, Date since);
+
+}
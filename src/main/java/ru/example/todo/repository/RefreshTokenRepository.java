@@ -1,14 +1,26 @@
 package ru.example.todo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.example.todo.entity.RefreshToken;
 
+import java.util.Date;
 import java.util.Optional;
 
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long>, RefreshTokenRepositoryCustom {
 
-    Optional<RefreshToken> findByValue(String value);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
     Optional<RefreshToken> findByUserId(Long userId);
 
+    // deletes at most <limit> expired tokens, so each batch is a short transaction
+    @Transactional
+    @Modifying
+    @Query(value = "delete from tokens where id in " +
+            "(select id from tokens where expires_at < :now order by id limit :limit)", nativeQuery = true)
+    int deleteExpired(@Param("now") Date now, @Param("limit") int limit);
+
 }
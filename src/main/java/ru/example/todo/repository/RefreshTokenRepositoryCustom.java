@@ -0,0 +1,13 @@
+package ru.example.todo.repository;
+/*
+ * Date: 10/18/26
+ * Time: 6:00 PM
+ * */
+
+import java.util.Date;
+
+public interface RefreshTokenRepositoryCustom {
+
+    // inserts the user's refresh token or replaces the existing one, in one statement
+    void upsert(String tokenHash, Long userId, String createdByIp, Date expiresAt);
+}
@@ -1,28 +1,64 @@
 package ru.example.todo.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.example.todo.domain.TodoSectionProjection;
-import ru.example.todo.dto.TodoSectionDto;
 import ru.example.todo.entity.TodoSection;
 import ru.example.todo.entity.User;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TodoSectionRepository extends JpaRepository<TodoSection, Long> {
 
-    @Query("select new ru.example.todo.domain.TodoSectionProjection(s.id, s.title, s.updatedAt, s.createdAt) " +
-            "from TodoSection s where s.user.id = :userId")
-    List<TodoSectionProjection> findAllByUserIdProjection(@Param("userId") Long id);
+    // the sections with the task counters in one aggregate query, without loading the tasks
+    @Query("select new ru.example.todo.domain.TodoSectionProjection(s.id, s.title, s.updatedAt, s.createdAt, " +
+            "count(t.id), " +
+            "sum(case when t.completed = true then 1 else 0 end), " +
+            "sum(case when t.starred = true then 1 else 0 end), " +
+            "sum(case when t.completed = false and t.completionDate < :today then 1 else 0 end)) " +
+            "from TodoSection s left join s.todoTasks t where s.user.id = :userId " +
+            "group by s.id, s.title, s.updatedAt, s.createdAt")
+    List<TodoSectionProjection> findAllByUserIdProjection(@Param("userId") Long id, @Param("today") LocalDate today,
+                                                          Pageable page);
 
-    // todo: fix eager loading
+    // the sections with their tasks in one statement, distinct drops the rows repeated by the join in memory only
+    @EntityGraph(TodoSection.WITH_TASKS)
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    @Query("select distinct s from TodoSection s where s.user.id = :userId")
     List<TodoSection> findAllByUserId(@Param("userId") Long id);
 
     List<TodoSection> findAllByUser(User user);
 
     Optional<TodoSection> findByUserIdAndId(Long userId, Long sectionId);
 
+    @EntityGraph(TodoSection.WITH_TASKS)
+    Optional<TodoSection> findWithTasksByUserIdAndId(Long userId, Long sectionId);
+
     void deleteByIdAndUserId(Long sectionId, Long userId);
+
+    boolean existsByIdAndUserId(Long sectionId, Long userId);
+
+    // deletes the section if it belongs to the user or the user is an admin, in a single statement;
+    // the foreign key sets list_id of the section tasks to null
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from TodoSection s where s.id = :sectionId and (s.user.id = :userId or :isAdmin = true)")
+    int deleteSection(@Param("sectionId") Long sectionId, @Param("userId") Long userId,
+                      @Param("isAdmin") boolean isAdmin);
+
+    // the sections changed since the date, the stream must be consumed in a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select s from TodoSection s where s.user.id = :userId and s.updatedAt >= :since order by s.updatedAt, s.id")
+    Stream<TodoSection> streamChanges(@Param("userId") Long userId, @Param("since") Date since);
 }
@@ -1,26 +1,48 @@
 package ru.example.todo.repository;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.example.todo.domain.TaskChange;
 import ru.example.todo.entity.TodoTask;
 
-import java.time.LocalDate;
+import javax.persistence.QueryHint;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
-public interface TodoTaskRepository extends JpaRepository<TodoTask, Long> {
-
-    List<TodoTask> findAllByCompletionDateEqualsAndUserId(LocalDate date, Pageable page, Long userId);
-
-    List<TodoTask> findAllByCompletionDateBeforeAndUserId(LocalDate date, Pageable page, Long userId);
+public interface TodoTaskRepository extends JpaRepository<TodoTask, Long>, TodoTaskRepositoryCustom {
 
     List<TodoTask> findAllByIdInAndUserId(Set<Long> taskIds, Long userId);
 
-    List<TodoTask> findAllByUserId(Long userId, Pageable pageable);
-
     Optional<TodoTask> findByIdAndUserId(Long taskId, Long userId);
 
     long countByCompleted(boolean isCompleted);
 
+    // deletes the task if it belongs to the user or the user is an admin, in a single statement
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from TodoTask t where t.id = :taskId and (t.user.id = :userId or :isAdmin = true)")
+    int deleteTask(@Param("taskId") Long taskId, @Param("userId") Long userId, @Param("isAdmin") boolean isAdmin);
+
+    // the tasks changed since the date, read with a cursor over task_user_id_updated_at_id_idx;
+    // the projection holds the section id without loading the section, the stream must be consumed in a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new ru.example.todo.domain.TaskChange(t.id, t.title, t.completed, t.starred, t.completionDate, " +
+            "s.id, t.createdAt, t.updatedAt) from TodoTask t left join t.todoSection s " +
+            "where t.user.id = :userId and t.updatedAt >= :since order by t.updatedAt, t.id")
+    Stream<TaskChange> streamChanges(@Param("userId") Long userId, @Param("since") Date since);
+
+    // all the tasks for the export, in the order of task_user_id_created_at_id_idx
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new ru.example.todo.domain.TaskChange(t.id, t.title, t.completed, t.starred, t.completionDate, " +
+            "s.id, t.createdAt, t.updatedAt) from TodoTask t left join t.todoSection s " +
+            "where t.user.id = :userId order by t.createdAt, t.id")
+    Stream<TaskChange> streamAllByUserId(@Param("userId") Long userId);
+
 }
@@ -0,0 +1,67 @@
+package ru.example.todo.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.example.todo.domain.TaskCursor;
+import ru.example.todo.domain.TaskFilter;
+import ru.example.todo.entity.TodoTask;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Queries of the TodoTaskRepository that can't be expressed
+ * with derived query methods.
+ *
+ * @see ru.example.todo.repository.impl.TodoTaskRepositoryCustomImpl
+ */
+public interface TodoTaskRepositoryCustom {
+
+    /**
+     * Finds the user tasks matching the filter. All the conditions of the filter
+     * are combined into one parameterized query.
+     *
+     * @param userId the user id
+     * @param filter the conditions
+     * @param page   the page number, size and sort
+     * @return the tasks of the page
+     */
+    List<TodoTask> findAllByFilter(Long userId, TaskFilter filter, Pageable page);
+
+    /**
+     * Finds the user tasks matching the filter that follow the cursor position
+     * in the given sort direction. The query seeks by the (sort key, id) pair
+     * instead of skipping rows with OFFSET.
+     *
+     * @param userId    the user id
+     * @param filter    the conditions
+     * @param cursor    the position of the last task of the previous page
+     * @param direction the sort direction
+     * @param limit     the max number of tasks
+     * @return the tasks ordered by the cursor sort key and id
+     */
+    List<TodoTask> findAllByUserIdAfterCursor(Long userId, TaskFilter filter, TaskCursor cursor,
+                                              Sort.Direction direction, int limit);
+
+    /**
+     * Moves the user tasks to the section with a single update statement,
+     * the ids are bound as one array parameter.
+     *
+     * @param userId    the user id
+     * @param sectionId the section id
+     * @param taskIds   the task ids, the ids of other users tasks are skipped
+     * @return the number of moved tasks
+     */
+    int moveToSection(Long userId, Long sectionId, Collection<Long> taskIds);
+
+    /**
+     * Removes the user tasks from the section with a single update statement.
+     *
+     * @param userId    the user id
+     * @param sectionId the section id
+     * @param taskIds   the task ids, the tasks of other sections are skipped
+     * @return the number of removed tasks
+     */
+    int removeFromSection(Long userId, Long sectionId, Collection<Long> taskIds);
+
+}
@@ -0,0 +1,45 @@
+package ru.example.todo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.example.todo.entity.Tombstone;
+
+import javax.persistence.QueryHint;
+import java.util.Date;
+import java.util.stream.Stream;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    // written right before the conditional delete of the task, in the same transaction,
+    // with the owner of the task, who isn't the principal when an admin deletes it
+    @Modifying
+    @Query(value = "insert into tombstone (user_id, entity_type, entity_id, deleted_at) " +
+            "select t.user_id, 'TASK', t.id, :deletedAt from task t " +
+            "where t.id = :taskId and (t.user_id = :userId or :isAdmin = true)", nativeQuery = true)
+    int saveTaskTombstone(@Param("taskId") Long taskId, @Param("userId") Long userId,
+                          @Param("isAdmin") boolean isAdmin, @Param("deletedAt") Date deletedAt);
+
+    @Modifying
+    @Query(value = "insert into tombstone (user_id, entity_type, entity_id, deleted_at) " +
+            "select s.user_id, 'SECTION', s.id, :deletedAt from section s " +
+            "where s.id = :sectionId and (s.user_id = :userId or :isAdmin = true)", nativeQuery = true)
+    int saveSectionTombstone(@Param("sectionId") Long sectionId, @Param("userId") Long userId,
+                             @Param("isAdmin") boolean isAdmin, @Param("deletedAt") Date deletedAt);
+
+    // read with a cursor, the stream must be consumed in a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select t from Tombstone t where t.userId = :userId and t.deletedAt >= :since order by t.deletedAt, t.id")
+    Stream<Tombstone> streamChanges(@Param("userId") Long userId, @Param("since") Date since);
+
+    // deletes at most <limit> old tombstones, so each batch is a short transaction
+    @Transactional
+    @Modifying
+    @Query(value = "delete from tombstone where id in " +
+            "(select id from tombstone where deleted_at < :before order by id limit :limit)", nativeQuery = true)
+    int deleteExpired(@Param("before") Date before, @Param("limit") int limit);
+
+}
@@ -1,8 +1,13 @@
 package ru.example.todo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.example.todo.entity.User;
 
+import javax.persistence.LockModeType;
+
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -10,4 +15,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    // the row lock serializes the requests of a user until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
+    // the counts and the last modification dates of the user's tasks and sections:
+    // an insert or an update moves a date, a delete lowers a count
+    @Query(value = "select concat(" +
+            "(select count(*) from task where user_id = :userId), '/', " +
+            "(select max(updated_at) from task where user_id = :userId), '/', " +
+            "(select count(*) from section where user_id = :userId), '/', " +
+            "(select max(updated_at) from section where user_id = :userId))", nativeQuery = true)
+    String findDataVersion(@Param("userId") Long userId);
 }
@@ -0,0 +1,44 @@
+package ru.example.todo.repository.impl;
+/*
+ * Date: 10/18/26
+ * Time: 6:05 PM
+ * */
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.TimestampType;
+import org.springframework.transaction.annotation.Transactional;
+import ru.example.todo.repository.RefreshTokenRepositoryCustom;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Date;
+
+public class RefreshTokenRepositoryCustomImpl implements RefreshTokenRepositoryCustom {
+
+    // a null ip keeps the previous one, as the former find-and-save did
+    private static final String UPSERT = "insert into tokens (token_hash, user_id, created_by_ip, expires_at) " +
+            "values (:tokenHash, :userId, :createdByIp, :expiresAt) " +
+            "on conflict (user_id) do update set " +
+            "token_hash = excluded.token_hash, " +
+            "created_by_ip = coalesce(excluded.created_by_ip, tokens.created_by_ip), " +
+            "expires_at = excluded.expires_at, " +
+            "updated_at = current_timestamp";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void upsert(String tokenHash, Long userId, String createdByIp, Date expiresAt) {
+        // the types are explicit, otherwise a null ip is bound as bytea
+        entityManager.createNativeQuery(UPSERT)
+                .unwrap(NativeQuery.class)
+                .setParameter("tokenHash", tokenHash, StringType.INSTANCE)
+                .setParameter("userId", userId, LongType.INSTANCE)
+                .setParameter("createdByIp", createdByIp, StringType.INSTANCE)
+                .setParameter("expiresAt", expiresAt, TimestampType.INSTANCE)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,172 @@
+package ru.example.todo.repository.impl;
+/*
+ * Date: 10/18/26
+ * Time: 10:40 AM
+ * */
+
+import org.hibernate.Session;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+import ru.example.todo.domain.TaskCursor;
+import ru.example.todo.domain.TaskFilter;
+import ru.example.todo.entity.TodoTask;
+import ru.example.todo.enums.filters.FilterByDate;
+import ru.example.todo.repository.TodoTaskRepositoryCustom;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public class TodoTaskRepositoryCustomImpl implements TodoTaskRepositoryCustom {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    // the ids are one array parameter, so the statement is the same whatever the number of tasks;
+    // updated_at is bound from the JVM clock, as @UpdateTimestamp sets it, so the ETag and the sync
+    // tokens compare the dates of a single clock
+    private static final String MOVE_TO_SECTION = "update task set updated_at = ?, list_id = ? " +
+            "where user_id = ? and id = any(?)";
+
+    private static final String REMOVE_FROM_SECTION = "update task set updated_at = ?, list_id = null " +
+            "where list_id = ? and user_id = ? and id = any(?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TodoTask> findAllByFilter(Long userId, TaskFilter filter, Pageable page) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoTask> query = cb.createQuery(TodoTask.class);
+        Root<TodoTask> task = query.from(TodoTask.class);
+
+        List<Predicate> predicates = getPredicates(cb, task, userId, filter);
+
+        query.select(task)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(QueryUtils.toOrders(page.getSort(), task, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<TodoTask> findAllByUserIdAfterCursor(Long userId, TaskFilter filter, TaskCursor cursor,
+                                                     Sort.Direction direction, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoTask> query = cb.createQuery(TodoTask.class);
+        Root<TodoTask> task = query.from(TodoTask.class);
+
+        Path<Date> sortKey = task.get(cursor.getSortField());
+        Path<Long> id = task.get("id");
+        Date value = Timestamp.from(cursor.getValue()); // keep the microseconds stored by Postgres
+
+        List<Predicate> predicates = getPredicates(cb, task, userId, filter);
+
+        // (sortKey, id) > (value, cursorId); the redundant range on the sort key lets the index bound the scan
+        if (direction.isAscending()) {
+            predicates.add(cb.greaterThanOrEqualTo(sortKey, value));
+            predicates.add(cb.or(cb.greaterThan(sortKey, value),
+                    cb.and(cb.equal(sortKey, value), cb.greaterThan(id, cursor.getId()))));
+            query.orderBy(cb.asc(sortKey), cb.asc(id));
+        } else {
+            predicates.add(cb.lessThanOrEqualTo(sortKey, value));
+            predicates.add(cb.or(cb.lessThan(sortKey, value),
+                    cb.and(cb.equal(sortKey, value), cb.lessThan(id, cursor.getId()))));
+            query.orderBy(cb.desc(sortKey), cb.desc(id));
+        }
+
+        query.select(task).where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // the conditions of the filter, only the ones that are set
+    private static List<Predicate> getPredicates(CriteriaBuilder cb, Root<TodoTask> task,
+                                                 Long userId, TaskFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(task.get("user").get("id"), userId));
+
+        Path<LocalDate> completionDate = task.get("completionDate");
+        if (filter.getDate() == FilterByDate.TODAY) {
+            predicates.add(cb.equal(completionDate, LocalDate.now()));
+        } else if (filter.getDate() == FilterByDate.OVERDUE) {
+            predicates.add(cb.lessThan(completionDate, LocalDate.now()));
+        }
+
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(completionDate, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(completionDate, filter.getTo()));
+        }
+        if (filter.getCompleted() != null) {
+            predicates.add(cb.equal(task.get("completed"), filter.getCompleted()));
+        }
+        if (filter.getStarred() != null) {
+            predicates.add(cb.equal(task.get("starred"), filter.getStarred()));
+        }
+        if (filter.getSectionId() != null) {
+            predicates.add(cb.equal(task.get("todoSection").get("id"), filter.getSectionId()));
+        }
+        if (filter.getTitlePrefix() != null) {
+            // a prefix match, so the title index can be used
+            predicates.add(cb.like(task.get("title"), escapeLike(filter.getTitlePrefix()) + "%", LIKE_ESCAPE));
+        }
+
+        return predicates;
+    }
+
+    @Override
+    @Transactional
+    public int moveToSection(Long userId, Long sectionId, Collection<Long> taskIds) {
+        return updateSection(MOVE_TO_SECTION, sectionId, userId, taskIds);
+    }
+
+    @Override
+    @Transactional
+    public int removeFromSection(Long userId, Long sectionId, Collection<Long> taskIds) {
+        return updateSection(REMOVE_FROM_SECTION, sectionId, userId, taskIds);
+    }
+
+    private int updateSection(String sql, Long sectionId, Long userId, Collection<Long> taskIds) {
+        Session session = entityManager.unwrap(Session.class);
+        session.flush();
+
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+                statement.setLong(2, sectionId);
+                statement.setLong(3, userId);
+                statement.setArray(4, connection.createArrayOf("bigint", taskIds.toArray()));
+                return statement.executeUpdate();
+            }
+        });
+
+        // the loaded tasks no longer match their rows, as with @Modifying(clearAutomatically = true)
+        session.clear();
+        return updated;
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) escaped.append(LIKE_ESCAPE);
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+}
@@ -0,0 +1,72 @@
+package ru.example.todo.scheduling;
+/*
+ * Date: 10/18/26
+ * Time: 5:15 PM
+ * */
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.example.todo.config.properties.TokenProperties;
+import ru.example.todo.repository.RefreshTokenRepository;
+
+import java.util.Date;
+
+/**
+ * Deletes the expired refresh tokens, which are otherwise only rejected
+ * and would stay in the table forever. The rows are deleted in batches
+ * of <b>token.sweeper.batch_size</b>, each in its own short transaction,
+ * so the locks and the dead tuples left for vacuum stay small.
+ * <p>
+ * Exports <b>tokens.sweeper.removed</b> and <b>tokens.sweeper.duration</b>.
+ */
+@Component
+@ConditionalOnProperty(prefix = "token.sweeper", name = "enabled", matchIfMissing = true)
+public class ExpiredTokensSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiredTokensSweeper.class.getName());
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int batchSize;
+    private final Counter removed;
+    private final Timer duration;
+
+    public ExpiredTokensSweeper(RefreshTokenRepository refreshTokenRepository, TokenProperties tokenProperties,
+                                MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.batchSize = Math.max(tokenProperties.getSweeper().getBatchSize(), 1);
+        this.removed = Counter.builder("tokens.sweeper.removed")
+                .description("The number of deleted expired refresh tokens")
+                .register(meterRegistry);
+        this.duration = Timer.builder("tokens.sweeper.duration")
+                .description("The duration of a sweeper run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${token.sweeper.interval:3600000}",
+            fixedDelayString = "${token.sweeper.interval:3600000}")
+    public void sweep() {
+        long total = duration.record(this::deleteExpired);
+        log.info("Deleted expired refresh tokens: {}", total);
+    }
+
+    long deleteExpired() {
+        Date now = new Date();
+        long total = 0;
+        int deleted;
+
+        do {
+            deleted = refreshTokenRepository.deleteExpired(now, batchSize);
+            removed.increment(deleted);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        return total;
+    }
+
+}
@@ -0,0 +1,67 @@
+package ru.example.todo.scheduling;
+/*
+ * Date: 10/18/26
+ * Time: 9:50 PM
+ * */
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.example.todo.config.properties.SyncProperties;
+import ru.example.todo.repository.TombstoneRepository;
+
+import java.util.Date;
+
+/**
+ * Deletes the tombstones older than <b>sync.tombstone_retention</b>, the delta sync
+ * rejects the tokens older than that anyway. The rows are deleted in batches
+ * of <b>sync.sweeper.batch_size</b>, each in its own short transaction.
+ * <p>
+ * Exports <b>sync.tombstones.removed</b>.
+ */
+@Component
+@ConditionalOnProperty(prefix = "sync.sweeper", name = "enabled", matchIfMissing = true)
+public class ExpiredTombstonesSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiredTombstonesSweeper.class.getName());
+
+    private final TombstoneRepository tombstoneRepository;
+    private final long retention;
+    private final int batchSize;
+    private final Counter removed;
+
+    public ExpiredTombstonesSweeper(TombstoneRepository tombstoneRepository, SyncProperties syncProperties,
+                                    MeterRegistry meterRegistry) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.retention = syncProperties.getTombstoneRetention();
+        this.batchSize = Math.max(syncProperties.getSweeper().getBatchSize(), 1);
+        this.removed = Counter.builder("sync.tombstones.removed")
+                .description("The number of deleted expired tombstones")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${sync.sweeper.interval:3600000}",
+            fixedDelayString = "${sync.sweeper.interval:3600000}")
+    public void sweep() {
+        log.info("Deleted expired tombstones: {}", deleteExpired());
+    }
+
+    long deleteExpired() {
+        Date before = new Date(System.currentTimeMillis() - retention);
+        long total = 0;
+        int deleted;
+
+        do {
+            deleted = tombstoneRepository.deleteExpired(before, batchSize);
+            removed.increment(deleted);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        return total;
+    }
+
+}
@@ -0,0 +1,152 @@
+package ru.example.todo.scheduling;
+/*
+ * Date: 10/18/26
+ * Time: 11:50 PM
+ * */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import ru.example.todo.config.properties.ImportProperties;
+import ru.example.todo.entity.ImportError;
+import ru.example.todo.entity.TodoTask;
+import ru.example.todo.enums.DataFormat;
+import ru.example.todo.enums.ImportStatus;
+import ru.example.todo.service.TaskImportService;
+import ru.example.todo.util.mappers.TodoTaskMapper;
+import ru.example.todo.util.readers.CsvTaskRowReader;
+import ru.example.todo.util.readers.NdjsonTaskRowReader;
+import ru.example.todo.util.readers.TaskRow;
+import ru.example.todo.util.readers.TaskRowReader;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports an upload spooled to a file on the <b>importExecutor</b> threads. The file is read
+ * a row at a time, every row is validated against the <b>TodoTask</b> constraints and
+ * the rows are saved in batches of <b>import.batch_size</b>. A rejected row is recorded
+ * with the job, the others are imported anyway. The file is deleted once the job ends.
+ * <p>
+ * Exports <b>import.tasks.imported</b> and <b>import.rows.failed</b>.
+ */
+@Component
+public class TaskImportRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportRunner.class.getName());
+
+    private final TaskImportService taskImportService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final Counter imported;
+    private final Counter failed;
+
+    public TaskImportRunner(TaskImportService taskImportService, ObjectMapper objectMapper, Validator validator,
+                            ImportProperties importProperties, MeterRegistry meterRegistry) {
+        this.taskImportService = taskImportService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = importProperties.getBatchSize();
+        this.imported = meterRegistry.counter("import.tasks.imported");
+        this.failed = meterRegistry.counter("import.rows.failed");
+    }
+
+    @Async("importExecutor")
+    public void run(Long jobId, Long userId, DataFormat format, Path file) {
+        taskImportService.updateStatus(jobId, ImportStatus.RUNNING, null);
+
+        List<TodoTask> tasks = new ArrayList<>(batchSize);
+        List<ImportError> errors = new ArrayList<>();
+        int processed = 0;
+        try (TaskRowReader rows = open(format, file)) {
+            TaskRow row;
+            while ((row = rows.next()) != null) {
+                processed++;
+                String error = row.getError();
+                if (error == null) {
+                    TodoTask task = TodoTaskMapper.toEntity(row.getTask());
+                    error = validate(task);
+                    if (error == null) tasks.add(task);
+                }
+                if (error != null) errors.add(new ImportError(row.getLine(), error));
+
+                if (processed == batchSize) {
+                    save(jobId, userId, processed, tasks, errors);
+                    processed = 0;
+                }
+            }
+            save(jobId, userId, processed, tasks, errors);
+            taskImportService.updateStatus(jobId, ImportStatus.DONE, null);
+        } catch (CharacterCodingException ex) {
+            log.warn("Import job {} failed: {}", jobId, ex.toString());
+            taskImportService.updateStatus(jobId, ImportStatus.FAILED, "The upload is not encoded in UTF-8");
+        } catch (IOException ex) {
+            log.warn("Import job {} failed: {}", jobId, ex.getMessage());
+            taskImportService.updateStatus(jobId, ImportStatus.FAILED, ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("Import job {} failed", jobId, ex);
+            taskImportService.updateStatus(jobId, ImportStatus.FAILED, "The import stopped, the rows " +
+                    "counted as processed are saved");
+        } finally {
+            delete(file);
+        }
+    }
+
+    private TaskRowReader open(DataFormat format, Path file) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        try {
+            return format == DataFormat.CSV
+                    ? new CsvTaskRowReader(reader)
+                    : new NdjsonTaskRowReader(reader, objectMapper);
+        } catch (IOException ex) {
+            reader.close();
+            throw ex;
+        }
+    }
+
+    // the violations of the task, null if it is valid
+    private String validate(TodoTask task) {
+        if (task.getTitle() == null) return "title: must not be empty";
+
+        Set<ConstraintViolation<TodoTask>> violations = validator.validate(task);
+        if (violations.isEmpty()) return null;
+
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void save(Long jobId, Long userId, int processed, List<TodoTask> tasks, List<ImportError> errors) {
+        if (processed == 0) return;
+
+        taskImportService.saveBatch(jobId, userId, processed, tasks, errors);
+        imported.increment(tasks.size());
+        failed.increment(errors.size());
+        tasks.clear();
+        errors.clear();
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete the import file {}: {}", file, ex.getMessage());
+        }
+    }
+}
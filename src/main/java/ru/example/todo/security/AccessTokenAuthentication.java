@@ -0,0 +1,33 @@
+package ru.example.todo.security;
+/*
+ * Date: 10/18/26
+ * Time: 2:05 PM
+ * */
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * The authentication built from a verified access token.
+ * Keeps the token expiration date, so the authentication
+ * can be reused until the token itself expires.
+ */
+public class AccessTokenAuthentication extends UsernamePasswordAuthenticationToken {
+
+    private final Date expiresAt;
+
+    public AccessTokenAuthentication(UserDetailsImpl principal,
+                                     Collection<? extends GrantedAuthority> authorities,
+                                     Date expiresAt) {
+        super(principal, "", authorities);
+        this.expiresAt = expiresAt;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+}
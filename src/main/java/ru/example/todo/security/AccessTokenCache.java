@@ -0,0 +1,96 @@
+package ru.example.todo.security;
+/*
+ * Date: 10/18/26
+ * Time: 2:20 PM
+ * */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import ru.example.todo.config.properties.TokenProperties;
+import ru.example.todo.service.JwtTokenService;
+import ru.example.todo.util.Sha256;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A size-bounded cache of the authentications built from verified access tokens.
+ * Clients send the same token many times during its validity, so the signature
+ * check and the claims parsing are done once per token. The entries are keyed
+ * by the SHA-256 digest of the token, so raw tokens are never kept in memory,
+ * and each entry expires together with its token.
+ * <p>
+ * The cache can be turned off with the <b>token.cache.enabled</b> property,
+ * hits, misses and evictions are exported to Micrometer as <b>cache.*</b> meters.
+ */
+@Component
+public class AccessTokenCache {
+
+    static final String CACHE_NAME = "access_tokens";
+
+    private final JwtTokenService jwtTokenService;
+    private final Cache<ByteBuffer, Authentication> cache;
+
+    public AccessTokenCache(JwtTokenService jwtTokenService, TokenProperties tokenProperties,
+                            MeterRegistry meterRegistry) {
+        this.jwtTokenService = jwtTokenService;
+
+        TokenProperties.Cache properties = tokenProperties.getCache();
+        if (properties.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxSize())
+                    .expireAfter(new UntilTokenExpires())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Returns the cached authentication of the access token,
+     * otherwise verifies the token and caches the result.
+     *
+     * @param accessToken the access token as a string
+     * @return the authentication
+     * @throws ru.example.todo.exception.CustomException if the access token has expired or is invalid
+     * @see JwtTokenService#getAuthentication(String)
+     */
+    public Authentication getAuthentication(String accessToken) {
+        if (cache == null) {
+            return jwtTokenService.getAuthentication(accessToken);
+        }
+        return cache.get(ByteBuffer.wrap(Sha256.digest(accessToken)),
+                key -> jwtTokenService.getAuthentication(accessToken));
+    }
+
+    private static class UntilTokenExpires implements Expiry<ByteBuffer, Authentication> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Authentication auth, long currentTime) {
+            if (!(auth instanceof AccessTokenAuthentication)
+                    || ((AccessTokenAuthentication) auth).getExpiresAt() == null) {
+                return 0;
+            }
+            long millis = ((AccessTokenAuthentication) auth).getExpiresAt().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Authentication auth, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Authentication auth, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
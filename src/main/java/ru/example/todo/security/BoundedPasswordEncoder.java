@@ -0,0 +1,108 @@
+package ru.example.todo.security;
+/*
+ * Date: 10/18/26
+ * Time: 3:20 PM
+ * */
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.example.todo.config.properties.BCryptProperties;
+import ru.example.todo.exception.ServiceUnavailableException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the password hashing and verification of the delegate on a dedicated
+ * thread pool sized to the cores, with a bounded queue. BCrypt is CPU-bound,
+ * so running more hashes at once than there are cores only makes each of them
+ * slower, and a login storm would otherwise occupy all the servlet threads.
+ * <p>
+ * When the queue is full the call fails at once with a ServiceUnavailableException,
+ * which is returned to the client as 503 with the <b>Retry-After</b> header.
+ * The pool is exported to Micrometer as the <b>bcrypt</b> executor: <b>executor.queued</b>
+ * is the queue depth, <b>executor.idle</b> the wait time and <b>executor</b> the hash time.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    static final String EXECUTOR_NAME = "bcrypt";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor threadPool;
+    private final ExecutorService executor;
+    private final Counter rejected;
+    private final long retryAfter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, BCryptProperties properties,
+                                  MeterRegistry meterRegistry) {
+        int threads = properties.getThreads() > 0 ?
+                properties.getThreads() :
+                Runtime.getRuntime().availableProcessors();
+
+        this.delegate = delegate;
+        this.threadPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(properties.getQueueCapacity(), 1)),
+                new CustomizableThreadFactory(EXECUTOR_NAME + "-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, EXECUTOR_NAME);
+        this.rejected = Counter.builder("executor.rejected")
+                .description("The number of tasks rejected because the queue was full")
+                .tag("name", EXECUTOR_NAME)
+                .register(meterRegistry);
+        this.retryAfter = properties.getRetryAfter();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // no hashing, only reads the prefix
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many requests, try again later", retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the password encoder", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        threadPool.shutdown();
+    }
+
+}
@@ -0,0 +1,93 @@
+package ru.example.todo.security;
+/*
+ * Date: 10/18/26
+ * Time: 4:05 PM
+ * */
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCryptPasswordEncoder with a configurable cost. <b>upgradeEncoding</b> returns true
+ * for any hash whose cost differs from the configured one, so the stored hashes
+ * are migrated to the configured cost, up or down, on the next successful login.
+ */
+public class ConfigurableBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigurableBCryptPasswordEncoder.class.getName());
+
+    static final int MIN_STRENGTH = 4;
+    static final int MAX_STRENGTH = 31;
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final int strength;
+
+    public ConfigurableBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = getStrength(encodedPassword);
+        return cost != -1 && cost != strength;
+    }
+
+    // reads the cost of a $2a$10$... hash, -1 if it isn't a BCrypt hash
+    static int getStrength(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty() || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+
+        int start = encodedPassword.indexOf('$', 1) + 1;
+        if (start == 0 || encodedPassword.length() < start + 3 || encodedPassword.charAt(start + 2) != '$') {
+            return -1;
+        }
+
+        try {
+            return Integer.parseInt(encodedPassword.substring(start, start + 2));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Picks the highest cost that keeps a single verification within the latency budget
+     * on the current hardware. Each step doubles the work, so the costs are tried
+     * from the lowest one until a verification takes longer than the budget.
+     *
+     * @param latencyBudget the maximum time of a single verification in milliseconds
+     * @return the cost, not less than the BCrypt minimum
+     */
+    public static int calibrate(long latencyBudget) {
+        long budget = TimeUnit.MILLISECONDS.toNanos(latencyBudget);
+        int strength = MIN_STRENGTH;
+
+        for (int candidate = MIN_STRENGTH; candidate <= MAX_STRENGTH; candidate++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(candidate);
+            String hash = encoder.encode(CALIBRATION_PASSWORD);
+
+            long start = System.nanoTime();
+            encoder.matches(CALIBRATION_PASSWORD, hash);
+            long elapsed = System.nanoTime() - start;
+
+            log.debug("BCrypt cost {}: {} ms", candidate, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            if (elapsed > budget) {
+                break;
+            }
+            strength = candidate;
+        }
+
+        log.info("BCrypt cost calibrated to {} for the latency budget of {} ms", strength, latencyBudget);
+        return strength;
+    }
+
+}
@@ -15,14 +15,16 @@ public class JwtTokenFilterConfigurer
         extends SecurityConfigurerAdapter<DefaultSecurityFilterChain, HttpSecurity> {
 
     private final JwtTokenService jwtTokenService;
+    private final AccessTokenCache accessTokenCache;
 
-    public JwtTokenFilterConfigurer(JwtTokenService jwtTokenService) {
+    public JwtTokenFilterConfigurer(JwtTokenService jwtTokenService, AccessTokenCache accessTokenCache) {
         this.jwtTokenService = jwtTokenService;
+        this.accessTokenCache = accessTokenCache;
     }
 
     @Override
     public void configure(HttpSecurity http) throws Exception {
-        JwtTokenFilter customFilter = new JwtTokenFilter(jwtTokenService);
+        JwtTokenFilter customFilter = new JwtTokenFilter(jwtTokenService, accessTokenCache);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
     }
 }
@@ -9,6 +9,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 import ru.example.todo.exception.CustomException;
+import ru.example.todo.security.AccessTokenCache;
 import ru.example.todo.service.JwtTokenService;
 
 import javax.servlet.FilterChain;
@@ -20,9 +21,11 @@ import java.io.IOException;
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     private final JwtTokenService jwtTokenService;
+    private final AccessTokenCache accessTokenCache;
 
-    public JwtTokenFilter(JwtTokenService jwtTokenService) {
+    public JwtTokenFilter(JwtTokenService jwtTokenService, AccessTokenCache accessTokenCache) {
         this.jwtTokenService = jwtTokenService;
+        this.accessTokenCache = accessTokenCache;
     }
 
     @Override
@@ -32,8 +35,8 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         String accessToken = jwtTokenService.resolveAccessToken(httpServletRequest);
 
         try {
-            if (!accessToken.isEmpty() && jwtTokenService.isAccessTokenValid(accessToken)) {
-                Authentication auth = jwtTokenService.getAuthentication(accessToken);
+            if (!accessToken.isEmpty()) {
+                Authentication auth = accessTokenCache.getAuthentication(accessToken);
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
         } catch (CustomException ex) {
@@ -58,19 +58,21 @@ public interface JwtTokenService {
     Set<Role> getUserRoles(String accessToken);
 
     /**
-     * Retrieves the user data from the access token body:
-     * id and roles. Creates an instance with of the User class
+     * Verifies the access token and retrieves the user data from its body:
+     * id and roles. The token is parsed only once, so there is no need
+     * to call <b>isAccessTokenValid</b> first. Creates an instance with of the User class
      * with the received data, then the UserDetailsImpl instance,
      * passing the created User instance to the constructor.
-     * Returns an instance of the UsernamePasswordAuthenticationToken,
-     * passing a UserDetailsImpl instance, empty string and user roles
-     * to the constructor.
+     * Returns an instance of the AccessTokenAuthentication,
+     * passing a UserDetailsImpl instance, user roles and the token
+     * expiration date to the constructor.
      *
      * @param accessToken the access token as a string
      * @return the authentication
+     * @throws ru.example.todo.exception.CustomException if the access token has expired or is invalid
      * @see ru.example.todo.entity.User
      * @see ru.example.todo.security.UserDetailsImpl
-     * @see org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+     * @see ru.example.todo.security.AccessTokenAuthentication
      */
     Authentication getAuthentication(String accessToken);
 }
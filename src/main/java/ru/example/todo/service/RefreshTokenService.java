@@ -12,6 +12,8 @@ public interface RefreshTokenService {
     /**
      * Creates an instance of the RefreshToken class
      * with the user id, expiration date and a random unique value.
+     * Only the SHA-256 digest of the value is stored,
+     * replacing the previous refresh token of the user in one statement.
      *
      * @param userId the user id
      * @param ip     the ip address
@@ -30,7 +32,7 @@ public interface RefreshTokenService {
     RefreshToken save(RefreshToken refreshToken);
 
     /**
-     * Finds a refresh token by value in the database.
+     * Finds a refresh token by the digest of its value in the database.
      * This method call the validateToken method,
      * which check the expiration date and the fact
      * that the refresh token itself exists.
@@ -0,0 +1,62 @@
+package ru.example.todo.service;
+
+import ru.example.todo.domain.SyncToken;
+import ru.example.todo.domain.TaskChange;
+import ru.example.todo.entity.TodoSection;
+import ru.example.todo.entity.Tombstone;
+import ru.example.todo.exception.CustomException;
+
+import java.util.function.Consumer;
+
+/**
+ * This interface contains the delta sync methods. The changes are passed
+ * to the action one by one as they are read with a database cursor,
+ * so a large change set is never held in memory.
+ */
+public interface SyncService {
+
+    /**
+     * Decodes the token the client got from its previous sync.
+     *
+     * @param token the encoded token, <b>null</b> for the first sync
+     * @return the token, {@link SyncToken#INITIAL} if there is none
+     * @throws CustomException if the token is malformed or older than the tombstones
+     */
+    SyncToken decodeToken(String token);
+
+    /**
+     * Returns the token of the next sync. Called before the changes are read,
+     * and moved back by <b>sync.overlap</b>, so a change committed meanwhile
+     * is sent again rather than missed: the clients apply the changes idempotently.
+     *
+     * @return the token
+     */
+    SyncToken nextToken();
+
+    /**
+     * Passes the user's tasks created or updated since the token to the action.
+     *
+     * @param userId the user id
+     * @param token  the position of the previous sync
+     * @param action the action
+     */
+    void forEachTask(Long userId, SyncToken token, Consumer<TaskChange> action);
+
+    /**
+     * Passes the user's sections created or updated since the token to the action.
+     *
+     * @param userId the user id
+     * @param token  the position of the previous sync
+     * @param action the action
+     */
+    void forEachSection(Long userId, SyncToken token, Consumer<TodoSection> action);
+
+    /**
+     * Passes the tombstones of the user's tasks and sections deleted since the token to the action.
+     *
+     * @param userId the user id
+     * @param token  the position of the previous sync
+     * @param action the action
+     */
+    void forEachTombstone(Long userId, SyncToken token, Consumer<Tombstone> action);
+}
@@ -0,0 +1,55 @@
+package ru.example.todo.service;
+
+import ru.example.todo.entity.ImportError;
+import ru.example.todo.entity.ImportJob;
+import ru.example.todo.entity.TodoTask;
+import ru.example.todo.enums.ImportStatus;
+import ru.example.todo.exception.CustomException;
+
+import java.util.List;
+
+/**
+ * This interface keeps the state of the task imports. A job is saved a batch at a time,
+ * each in a transaction of its own along with the progress, so the progress
+ * always tells how many rows are in the database.
+ */
+public interface TaskImportService {
+
+    /**
+     * Creates a queued job.
+     *
+     * @param userId the user id
+     * @return the job
+     */
+    ImportJob createJob(Long userId);
+
+    /**
+     * Finds the user's job along with its errors.
+     *
+     * @param userId the user id
+     * @param jobId  the job id
+     * @return the job
+     * @throws CustomException if the user has no such job
+     */
+    ImportJob findJob(Long userId, Long jobId);
+
+    /**
+     * Saves the tasks of a batch for the user and adds the batch to the progress of the job.
+     *
+     * @param jobId     the job id
+     * @param userId    the user the tasks are imported for
+     * @param processed the rows read, the rejected ones included
+     * @param tasks     the valid tasks
+     * @param errors    the rejected rows
+     */
+    void saveBatch(Long jobId, Long userId, int processed, List<TodoTask> tasks, List<ImportError> errors);
+
+    /**
+     * Sets the status of the job.
+     *
+     * @param jobId   the job id
+     * @param status  the status
+     * @param message why the job failed, <b>null</b> otherwise
+     */
+    void updateStatus(Long jobId, ImportStatus status, String message);
+}
@@ -2,9 +2,7 @@ package ru.example.todo.service;
 
 import ru.example.todo.domain.TodoSectionProjection;
 import ru.example.todo.entity.TodoSection;
-import ru.example.todo.entity.TodoTask;
 import ru.example.todo.entity.User;
-import ru.example.todo.enums.filters.FilterByOperation;
 
 import java.util.List;
 
@@ -16,7 +14,7 @@ import java.util.List;
 public interface TodoSectionService {
 
     /**
-     * Finds a section by id.
+     * Finds a section by id, along with its tasks.
      *
      * @param userId    the user id
      * @param sectionId the TodoSection id
@@ -28,14 +26,18 @@ public interface TodoSectionService {
 
     /**
      * Finds specific fields of the TodoSection by user id:
-     * id, title, createdAt, updatedAt.
+     * id, title, createdAt, updatedAt and the total, completed,
+     * starred and overdue task counters.
      *
-     * @param userId the user id
+     * @param userId   the user id
+     * @param pageNo   the page number
+     * @param pageSize the page size, at most 100
+     * @param sort     the sort field and direction, e.g. <b>title,asc</b>
      * @return the TodoSectionProjection list
      * @see TodoSectionProjection
      * @see TodoSection
      */
-    List<TodoSectionProjection> findSections(Long userId);
+    List<TodoSectionProjection> findSections(Long userId, Integer pageNo, Integer pageSize, String sort);
 
     /**
      * Deletes the TodoSection by id. Checks if the Principal
@@ -79,15 +81,11 @@ public interface TodoSectionService {
     TodoSection updateSection(User principal, Long sectionId, TodoSection section);
 
     /**
-     * Add tasks or removes them from the TodoSection object.
+     * Checks whether the user has the TodoSection.
      *
      * @param userId    the User id
      * @param sectionId the TodoSection id
-     * @param tasks     the list of tasks
-     * @param flag      the flag that contains <b>move</b> or <b>remove</b>
-     * @throws ru.example.todo.exception.CustomException if the TodoSection by id and userId is not found
-     * @see TodoTask
-     * @see TodoSection
+     * @return <b>true</b>, if the section exists and belongs to the user, otherwise <b>false</b>
      */
-    void addTasksToOrRemoveFromSection(Long userId, Long sectionId, List<TodoTask> tasks, FilterByOperation flag);
+    boolean existsSection(Long userId, Long sectionId);
 }
@@ -1,24 +1,38 @@
 package ru.example.todo.service;
 
+import ru.example.todo.domain.TaskChange;
+import ru.example.todo.domain.TaskFilter;
+import ru.example.todo.domain.TaskOperation;
+import ru.example.todo.domain.TaskOperationResult;
 import ru.example.todo.entity.TodoTask;
 import ru.example.todo.entity.User;
-import ru.example.todo.enums.filters.FilterByDate;
+import ru.example.todo.enums.filters.FilterByOperation;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface TodoTaskService {
 
     List<TodoTask> findTasks(Long userId, Integer pageNo, Integer pageSize,
-                             FilterByDate date, String sort);
+                             TaskFilter filter, String sort);
+
+    List<TodoTask> findTasksAfter(Long userId, String after, Integer pageSize,
+                                  TaskFilter filter, String sort);
+
+    String getNextCursor(List<TodoTask> tasks, Integer pageSize, String sort);
 
     TodoTask findTaskById(Long userId, Long taskId);
 
+    void forEachTask(Long userId, Consumer<TaskChange> action);
+
     void deleteTaskById(User principal, Long taskId);
 
     TodoTask createTask(User user, TodoTask task);
 
-    List<TodoTask> findTasksByIds(Set<Long> taskIds, Long userId);
+    int updateTasksSection(Long userId, Long sectionId, Set<Long> taskIds, FilterByOperation flag);
 
     void save(TodoTask task);
+
+    List<TaskOperationResult> applyOperations(User user, List<TaskOperation> operations);
 }
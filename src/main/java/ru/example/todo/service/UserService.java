@@ -60,6 +60,16 @@ public interface UserService {
      */
     User findUserById(Long userId);
 
+    /**
+     * Returns the user as an uninitialized reference, without querying the database.
+     * Enough to set the owner of a new task or section, the foreign key
+     * checks that the user exists.
+     *
+     * @param userId the user id
+     * @return the user reference
+     */
+    User getUserReference(Long userId);
+
     /**
      * Updates the user's password. Throws an exception, if user does not exists.
      *
@@ -76,4 +86,14 @@ public interface UserService {
      * @return <b>true</b>, if user exists, otherwise <b>false</b>
      */
     boolean existsByUsername(String email);
+
+    /**
+     * Returns the version of the user's tasks and sections, it changes
+     * whenever a task or a section is created, updated or deleted.
+     * One small query over the user id indexes, without loading the rows.
+     *
+     * @param userId the user id
+     * @return the version as an opaque string
+     */
+    String getDataVersion(Long userId);
 }
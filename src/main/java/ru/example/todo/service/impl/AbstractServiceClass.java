@@ -4,18 +4,17 @@ package ru.example.todo.service.impl;
  * Time: 7:21 AM
  * */
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Sort;
-import ru.example.todo.entity.TodoSection;
-import ru.example.todo.entity.TodoTask;
-import ru.example.todo.enums.filters.FilterByOperation;
+import org.springframework.http.HttpStatus;
+import ru.example.todo.entity.User;
+import ru.example.todo.enums.Role;
+import ru.example.todo.exception.CustomException;
 
-import java.util.List;
+import java.util.function.BooleanSupplier;
 
 public class AbstractServiceClass {
 
-    private static final Logger log = LoggerFactory.getLogger(AbstractServiceClass.class.getName());
+    static final int MAX_PAGE_SIZE = 100;
 
     Sort.Direction getSortDirection(String sort) {
         if (sort.contains(",asc")) return Sort.Direction.ASC;
@@ -27,16 +26,22 @@ public class AbstractServiceClass {
         return sort;
     }
 
-    void addOrRemoveTasks(FilterByOperation flag, TodoSection section, List<TodoTask> tasksByIds) {
+    int getPageSize(Integer pageSize) {
+        return pageSize > MAX_PAGE_SIZE ? MAX_PAGE_SIZE : pageSize;
+    }
 
-        if (flag.equals(FilterByOperation.MOVE)) {
-            log.info("Add tasks to the section");
-            section.setTodoTasks(tasksByIds);
-        } else if (flag.equals(FilterByOperation.REMOVE)) {
-            log.info("Remove tasks from the section");
-            section.removeTodoTasks(tasksByIds);
-        }
+    boolean isAdmin(User principal) {
+        return principal.getRoles() != null && principal.getRoles().contains(Role.ADMIN);
+    }
 
+    // a conditional delete removes nothing if the entity doesn't exist or belongs to another user,
+    // only then the existence is checked to tell them apart
+    void checkDeleted(int deleted, BooleanSupplier exists, String entityName) {
+        if (deleted > 0) return;
+        if (exists.getAsBoolean()) {
+            throw new CustomException("Not enough permissions", HttpStatus.FORBIDDEN);
+        }
+        throw new CustomException(entityName + " Not Found", HttpStatus.NOT_FOUND);
     }
 
 }
@@ -6,50 +6,54 @@ package ru.example.todo.service.impl;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 import ru.example.todo.config.properties.TokenProperties;
 import ru.example.todo.entity.User;
 import ru.example.todo.enums.Role;
 import ru.example.todo.exception.CustomException;
+import ru.example.todo.security.AccessTokenAuthentication;
 import ru.example.todo.security.UserDetailsImpl;
 import ru.example.todo.service.JwtTokenService;
 
-import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import javax.servlet.http.HttpServletRequest;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 public class JwtTokenServiceImpl implements JwtTokenService {
 
     private final TokenProperties tokenProperties;
+    private final SecretKey secretKey;
+    private final JwtParser jwtParser; // immutable and thread-safe, shared by all requests
 
     public JwtTokenServiceImpl(TokenProperties tokenProperties) {
         this.tokenProperties = tokenProperties;
+        this.secretKey = Keys.hmacShaKeyFor(tokenProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
     }
 
     @Override
     public String buildAccessToken(Long userId, Set<Role> roles) {
         Claims claims = Jwts.claims();
         claims.put("id", userId);
-        claims.put("auth", roles.stream()
-                .map(role -> new SimpleGrantedAuthority(role.getAuthority()))
-                .collect(Collectors.toList()));
+        claims.put("auth", Role.toMask(roles));
 
         return Jwts.builder()
                 .setClaims(claims)
                 .setExpiration(getValidity(tokenProperties.getAccessTokenValidity()))
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
@@ -73,23 +77,10 @@ public class JwtTokenServiceImpl implements JwtTokenService {
 
     @Override
     public boolean isAccessTokenValid(String accessToken) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSecretKey())
-                    .build()
-                    .parseClaimsJws(accessToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException ex) {
-            throw new CustomException("Expired or invalid JWT token", HttpStatus.FORBIDDEN);
-        }
+        getClaimsBody(accessToken);
+        return true;
     }
 
-    @PostConstruct
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(tokenProperties.getSecret().getBytes(StandardCharsets.UTF_8));
-    }
-
-
     @Override
     public Long getId(String accessToken) {
         Claims claims = getClaimsBody(accessToken);
@@ -112,25 +103,34 @@ public class JwtTokenServiceImpl implements JwtTokenService {
         User principal = new User(id, roles);
         UserDetailsImpl userDetails = new UserDetailsImpl(principal);
 
-        return new UsernamePasswordAuthenticationToken(userDetails, "", roles);
+        return new AccessTokenAuthentication(userDetails, roles, claims.getExpiration());
     }
 
+    // verifies the signature and the expiration date, the only place where the token is parsed
     private Claims getClaimsBody(String accessToken) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSecretKey())
-                .build()
-                .parseClaimsJws(accessToken)
-                .getBody();
+        try {
+            return jwtParser.parseClaimsJws(accessToken).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new CustomException("Expired or invalid JWT token", HttpStatus.FORBIDDEN);
+        }
     }
 
+    // the roles are a bitmask, tokens issued before hold a list of {"authority": "ROLE"} maps
     private Set<Role> extractRoles(Claims claims) {
-        String[] authorities = claims.get("auth").toString().split(",");
-        return Arrays.stream(authorities)
-                .map(authority -> authority
-                        .replaceAll("[{}\\[\\] ]", "")
-                        .replaceAll("authority=", ""))
-                .map(Role::valueOf)
-                .collect(Collectors.toSet());
+        Object auth = claims.get("auth");
+        if (auth instanceof Number) {
+            return Role.fromMask(((Number) auth).intValue());
+        }
+
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        if (auth instanceof List) {
+            for (Object authority : (List<?>) auth) {
+                if (authority instanceof Map) {
+                    roles.add(Role.valueOf(String.valueOf(((Map<?, ?>) authority).get("authority"))));
+                }
+            }
+        }
+        return roles;
     }
 
 }
@@ -11,7 +11,8 @@ import ru.example.todo.entity.RefreshToken;
 import ru.example.todo.exception.CustomException;
 import ru.example.todo.repository.RefreshTokenRepository;
 import ru.example.todo.service.RefreshTokenService;
-import ru.example.todo.util.RandomString;
+import ru.example.todo.util.Sha256;
+import ru.example.todo.util.TokenGenerator;
 
 import java.time.Instant;
 import java.util.Date;
@@ -22,31 +23,23 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     private final TokenProperties tokenProperties;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenGenerator tokenGenerator;
 
-    public RefreshTokenServiceImpl(TokenProperties tokenProperties, RefreshTokenRepository refreshTokenRepository) {
+    public RefreshTokenServiceImpl(TokenProperties tokenProperties, RefreshTokenRepository refreshTokenRepository,
+                                   TokenGenerator tokenGenerator) {
         this.tokenProperties = tokenProperties;
         this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenGenerator = tokenGenerator;
     }
 
     @Override
     public String createRefreshToken(Long userId, String ip) {
-        RefreshToken refreshToken;
-        String token = new RandomString(64).nextString();
+        String token = tokenGenerator.nextToken(64);
 
         long now = new Date().getTime();
         Date expiresAt = new Date(now + tokenProperties.getRefreshTokenValidity());
 
-        Optional<RefreshToken> optionalRefreshToken = refreshTokenRepository.findByUserId(userId);
-        if (optionalRefreshToken.isPresent()) {
-            refreshToken = optionalRefreshToken.get();
-            refreshToken.setValue(token);
-            refreshToken.setExpiresAt(expiresAt);
-        } else {
-            refreshToken = new RefreshToken(token, userId, expiresAt);
-        }
-
-        if (ip != null) refreshToken.setCreatedByIp(ip);
-        save(refreshToken);
+        refreshTokenRepository.upsert(Sha256.hex(token), userId, ip, expiresAt);
 
         return token;
     }
@@ -58,7 +51,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     @Override
     public RefreshToken findRefreshTokenByValue(String refreshToken) {
-        Optional<RefreshToken> token = refreshTokenRepository.findByValue(refreshToken);
+        Optional<RefreshToken> token = refreshTokenRepository.findByTokenHash(Sha256.hex(refreshToken));
         return validateToken(token);
     }
 
@@ -0,0 +1,107 @@
+package ru.example.todo.service.impl;
+/*
+ * Date: 10/18/26
+ * Time: 9:40 PM
+ * */
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.example.todo.config.properties.SyncProperties;
+import ru.example.todo.domain.SyncToken;
+import ru.example.todo.domain.TaskChange;
+import ru.example.todo.entity.TodoSection;
+import ru.example.todo.entity.Tombstone;
+import ru.example.todo.exception.CustomException;
+import ru.example.todo.repository.TodoSectionRepository;
+import ru.example.todo.repository.TodoTaskRepository;
+import ru.example.todo.repository.TombstoneRepository;
+import ru.example.todo.service.SyncService;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class SyncServiceImpl implements SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncServiceImpl.class.getName());
+
+    private final TodoTaskRepository todoTaskRepository;
+    private final TodoSectionRepository todoSectionRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final SyncProperties syncProperties;
+    private final EntityManager entityManager;
+
+    public SyncServiceImpl(TodoTaskRepository todoTaskRepository, TodoSectionRepository todoSectionRepository,
+                           TombstoneRepository tombstoneRepository, SyncProperties syncProperties,
+                           EntityManager entityManager) {
+        this.todoTaskRepository = todoTaskRepository;
+        this.todoSectionRepository = todoSectionRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.syncProperties = syncProperties;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public SyncToken decodeToken(String token) {
+        if (token == null || token.isEmpty()) return SyncToken.INITIAL;
+
+        SyncToken syncToken;
+        try {
+            syncToken = SyncToken.decode(token);
+        } catch (IllegalArgumentException ex) {
+            throw new CustomException("Invalid sync token", HttpStatus.BAD_REQUEST);
+        }
+
+        // the tombstones of the deletes since then may be gone already
+        if (syncToken.getSince().isBefore(Instant.now().minusMillis(syncProperties.getTombstoneRetention()))) {
+            throw new CustomException("Sync token expired, sync without a token", HttpStatus.GONE);
+        }
+        return syncToken;
+    }
+
+    @Override
+    public SyncToken nextToken() {
+        return new SyncToken(Instant.now().minusMillis(syncProperties.getOverlap()));
+    }
+
+    // the projections aren't managed, nothing to detach
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTask(Long userId, SyncToken token, Consumer<TaskChange> action) {
+        try (Stream<TaskChange> tasks = todoTaskRepository.streamChanges(userId, token.getSinceDate())) {
+            tasks.forEach(action);
+        }
+        log.info("Synced the tasks changed since {}", token.getSince());
+    }
+
+    // each section is detached once written, so the persistence context doesn't grow with the change set
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachSection(Long userId, SyncToken token, Consumer<TodoSection> action) {
+        try (Stream<TodoSection> sections = todoSectionRepository.streamChanges(userId, token.getSinceDate())) {
+            sections.forEach(section -> {
+                action.accept(section);
+                entityManager.detach(section);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTombstone(Long userId, SyncToken token, Consumer<Tombstone> action) {
+        if (token == SyncToken.INITIAL) return; // the client has nothing to delete
+
+        try (Stream<Tombstone> tombstones = tombstoneRepository.streamChanges(userId, token.getSinceDate())) {
+            tombstones.forEach(tombstone -> {
+                action.accept(tombstone);
+                entityManager.detach(tombstone);
+            });
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package ru.example.todo.service.impl;
+/*
+ * Date: 10/18/26
+ * Time: 11:40 PM
+ * */
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.example.todo.config.properties.ImportProperties;
+import ru.example.todo.entity.ImportError;
+import ru.example.todo.entity.ImportJob;
+import ru.example.todo.entity.TodoTask;
+import ru.example.todo.entity.User;
+import ru.example.todo.enums.ImportStatus;
+import ru.example.todo.exception.CustomException;
+import ru.example.todo.repository.ImportJobRepository;
+import ru.example.todo.repository.TodoTaskRepository;
+import ru.example.todo.repository.UserRepository;
+import ru.example.todo.service.TaskImportService;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportServiceImpl.class.getName());
+
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
+    private static final Set<ImportStatus> IN_PROGRESS = EnumSet.of(ImportStatus.QUEUED, ImportStatus.RUNNING);
+
+    private final ImportJobRepository importJobRepository;
+    private final TodoTaskRepository todoTaskRepository;
+    private final UserRepository userRepository;
+    private final ImportProperties importProperties;
+
+    public TaskImportServiceImpl(ImportJobRepository importJobRepository, TodoTaskRepository todoTaskRepository,
+                                 UserRepository userRepository, ImportProperties importProperties) {
+        this.importJobRepository = importJobRepository;
+        this.todoTaskRepository = todoTaskRepository;
+        this.userRepository = userRepository;
+        this.importProperties = importProperties;
+    }
+
+    // one import at a time per user, the user row is locked so two uploads can't both pass the check
+    @Override
+    @Transactional
+    public ImportJob createJob(Long userId) {
+        userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new CustomException("User not found: " + userId, HttpStatus.NOT_FOUND));
+
+        Date since = new Date(System.currentTimeMillis() - importProperties.getStaleAfter());
+        if (importJobRepository.existsByUserIdAndStatusInAndUpdatedAtAfter(userId, IN_PROGRESS, since)) {
+            throw new CustomException("An import is already in progress", HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        ImportJob job = importJobRepository.save(new ImportJob(userId));
+        log.info("Import job {} queued for the user: {}", job.getId(), userId);
+        return job;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImportJob findJob(Long userId, Long jobId) {
+        return importJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new CustomException("Import job not found: " + jobId, HttpStatus.NOT_FOUND));
+    }
+
+    // the tasks are inserted in jdbc batches of hibernate.jdbc.batch_size, the ids come from the sequence
+    // in blocks; the persistence context is dropped with the transaction, so it holds a batch at most
+    @Override
+    @Transactional
+    public void saveBatch(Long jobId, Long userId, int processed, List<TodoTask> tasks, List<ImportError> errors) {
+        ImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new CustomException("Import job not found: " + jobId, HttpStatus.NOT_FOUND));
+
+        User user = userRepository.getOne(userId);
+        tasks.forEach(task -> task.setUser(user));
+        todoTaskRepository.saveAll(tasks);
+
+        job.addProgress(processed, tasks.size(), errors, importProperties.getMaxErrors());
+    }
+
+    @Override
+    @Transactional
+    public void updateStatus(Long jobId, ImportStatus status, String message) {
+        importJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setMessage(message == null || message.length() <= MAX_MESSAGE_LENGTH
+                    ? message : message.substring(0, MAX_MESSAGE_LENGTH));
+        });
+        log.info("Import job {} is {}", jobId, status);
+    }
+}
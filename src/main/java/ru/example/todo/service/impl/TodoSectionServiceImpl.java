@@ -6,17 +6,22 @@ package ru.example.todo.service.impl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.example.todo.domain.TodoSectionProjection;
 import ru.example.todo.entity.TodoSection;
-import ru.example.todo.entity.TodoTask;
 import ru.example.todo.entity.User;
-import ru.example.todo.enums.filters.FilterByOperation;
 import ru.example.todo.exception.CustomException;
 import ru.example.todo.repository.TodoSectionRepository;
+import ru.example.todo.repository.TombstoneRepository;
 import ru.example.todo.service.TodoSectionService;
 
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.List;
 
 @Service
@@ -25,31 +30,44 @@ public class TodoSectionServiceImpl extends AbstractServiceClass implements Todo
     private static final Logger log = LoggerFactory.getLogger(TodoSectionServiceImpl.class.getName());
 
     private final TodoSectionRepository todoSectionRepository;
+    private final TombstoneRepository tombstoneRepository;
 
-    public TodoSectionServiceImpl(TodoSectionRepository todoSectionRepository) {
+    public TodoSectionServiceImpl(TodoSectionRepository todoSectionRepository,
+                                  TombstoneRepository tombstoneRepository) {
         this.todoSectionRepository = todoSectionRepository;
+        this.tombstoneRepository = tombstoneRepository;
     }
 
     // get section by id
     @Override
     public TodoSection findSectionById(Long userId, Long sectionId) {
         log.info("Get the section by id: {}", sectionId);
-        return todoSectionRepository.findByUserIdAndId(userId, sectionId)
+        return todoSectionRepository.findWithTasksByUserIdAndId(userId, sectionId)
                 .orElseThrow(() -> new CustomException("Section not found: " + sectionId, HttpStatus.NOT_FOUND));
     }
 
     // get all sections
     @Override
-    public List<TodoSectionProjection> findSections(Long userId) {
-        List<TodoSectionProjection> sections = todoSectionRepository.findAllByUserIdProjection(userId);
+    public List<TodoSectionProjection> findSections(Long userId, Integer pageNo, Integer pageSize, String sort) {
+        Sort.Direction direction = getSortDirection(sort);
+        Pageable page = PageRequest.of(pageNo, getPageSize(pageSize), // set max page size
+                Sort.by(direction, getSortAsString(sort)).and(Sort.by(direction, "id")));
+
+        List<TodoSectionProjection> sections = todoSectionRepository.findAllByUserIdProjection(userId,
+                LocalDate.now(), page);
         log.info("Get all sections: {}", sections.size());
         return sections;
     }
 
-    // delete section by id
+    // delete section by id, the tombstone is rolled back along with the delete if it fails;
+    // the tasks detached by the foreign key keep their updatedAt, the clients detach them on the tombstone
     @Override
+    @Transactional
     public void deleteSectionById(User principal, Long sectionId) {
-        todoSectionRepository.deleteById(sectionId);
+        tombstoneRepository.saveSectionTombstone(sectionId, principal.getId(), isAdmin(principal), new Date());
+        int deleted = todoSectionRepository.deleteSection(sectionId, principal.getId(), isAdmin(principal));
+        checkDeleted(deleted, () -> todoSectionRepository.existsById(sectionId), "Section");
+        log.info("The section with id={} was deleted successfully", sectionId);
     }
 
 
@@ -69,17 +87,10 @@ public class TodoSectionServiceImpl extends AbstractServiceClass implements Todo
         return todoSectionRepository.save(section);
     }
 
-
-    // add to or remove from the task section
+    // whether the user has the section
     @Override
-    public void addTasksToOrRemoveFromSection(Long userId, Long sectionId, List<TodoTask> tasks, FilterByOperation flag) {
-        log.info("Get the section by id: {}", sectionId);
-        TodoSection section = todoSectionRepository.findByUserIdAndId(userId, sectionId)
-                .orElseThrow(() -> new CustomException("Section not found: " + sectionId, HttpStatus.NOT_FOUND));
-
-        // add or remove
-        addOrRemoveTasks(flag, section, tasks);
-        todoSectionRepository.save(section);
+    public boolean existsSection(Long userId, Long sectionId) {
+        return todoSectionRepository.existsByIdAndUserId(sectionId, userId);
     }
 
 }
@@ -12,16 +12,34 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.example.todo.domain.TaskChange;
+import ru.example.todo.domain.TaskCursor;
+import ru.example.todo.domain.TaskFilter;
+import ru.example.todo.domain.TaskOperation;
+import ru.example.todo.domain.TaskOperationResult;
+import ru.example.todo.entity.Tombstone;
 import ru.example.todo.entity.TodoTask;
 import ru.example.todo.entity.User;
-import ru.example.todo.enums.filters.FilterByDate;
+import ru.example.todo.enums.BatchOperation;
+import ru.example.todo.enums.EntityType;
+import ru.example.todo.enums.filters.FilterByOperation;
 import ru.example.todo.exception.CustomException;
 import ru.example.todo.repository.TodoTaskRepository;
+import ru.example.todo.repository.TombstoneRepository;
 import ru.example.todo.service.TodoTaskService;
 
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TodoTaskServiceImpl extends AbstractServiceClass implements TodoTaskService {
@@ -29,30 +47,54 @@ public class TodoTaskServiceImpl extends AbstractServiceClass implements TodoTas
     private static final Logger log = LoggerFactory.getLogger(TodoTaskServiceImpl.class.getName());
 
     private final TodoTaskRepository todoTaskRepository;
+    private final TombstoneRepository tombstoneRepository;
 
     @Autowired
-    public TodoTaskServiceImpl(TodoTaskRepository todoTaskRepository) {
+    public TodoTaskServiceImpl(TodoTaskRepository todoTaskRepository, TombstoneRepository tombstoneRepository) {
         this.todoTaskRepository = todoTaskRepository;
+        this.tombstoneRepository = tombstoneRepository;
     }
 
-    // get all tasks
+    // get all tasks matching the filter
     @Override
-    public List<TodoTask> findTasks(Long userId, Integer pageNo, Integer pageSize, FilterByDate date, String sort) {
-        pageSize = pageSize > 100 ? 100 : pageSize; // set max page size
-        Pageable page = PageRequest.of(pageNo, pageSize, Sort.by(getSortDirection(sort), getSortAsString(sort)));
-
-        switch (date) {
-            case TODAY:
-                log.info("Get today's tasks");
-                return todoTaskRepository.findAllByCompletionDateEqualsAndUserId(LocalDate.now(), page, userId);
-            case OVERDUE:
-                log.info("Get overdue tasks");
-                return todoTaskRepository.findAllByCompletionDateBeforeAndUserId(LocalDate.now(), page, userId);
-            default:
-                log.info("Get all tasks");
-                return todoTaskRepository.findAllByUserId(userId, page);
+    public List<TodoTask> findTasks(Long userId, Integer pageNo, Integer pageSize, TaskFilter filter, String sort) {
+        Sort.Direction direction = getSortDirection(sort);
+        Pageable page = PageRequest.of(pageNo, getPageSize(pageSize), // set max page size
+                Sort.by(direction, getSortAsString(sort)).and(Sort.by(direction, "id")));
+
+        log.info("Get tasks: {}", filter);
+        return todoTaskRepository.findAllByFilter(userId, filter, page);
+    }
+
+    // get the tasks following the cursor
+    @Override
+    public List<TodoTask> findTasksAfter(Long userId, String after, Integer pageSize, TaskFilter filter, String sort) {
+        TaskCursor cursor;
+        try {
+            cursor = TaskCursor.decode(after);
+        } catch (IllegalArgumentException ex) {
+            throw new CustomException("Invalid cursor", HttpStatus.BAD_REQUEST);
         }
 
+        if (!cursor.getSortField().equals(getSortAsString(sort))) {
+            throw new CustomException("Cursor does not match the sort: " + sort, HttpStatus.BAD_REQUEST);
+        }
+
+        log.info("Get tasks after the cursor: {}, {}", cursor, filter);
+        return todoTaskRepository.findAllByUserIdAfterCursor(userId, filter, cursor,
+                getSortDirection(sort), getPageSize(pageSize));
+    }
+
+    // get the cursor of the next page
+    @Override
+    public String getNextCursor(List<TodoTask> tasks, Integer pageSize, String sort) {
+        String sortField = getSortAsString(sort);
+        if (tasks.isEmpty() || tasks.size() < getPageSize(pageSize) || !TaskCursor.SORT_FIELDS.contains(sortField)) {
+            return null;
+        }
+
+        TaskCursor cursor = TaskCursor.of(sortField, tasks.get(tasks.size() - 1));
+        return cursor == null ? null : cursor.encode();
     }
 
     // get task by id
@@ -63,10 +105,23 @@ public class TodoTaskServiceImpl extends AbstractServiceClass implements TodoTas
                 .orElseThrow(() -> new CustomException("Task not found: " + taskId, HttpStatus.NOT_FOUND));
     }
 
-    // delete task by id
+    // pass all the tasks to the action as they are read, the projections aren't held by the persistence context
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTask(Long userId, Consumer<TaskChange> action) {
+        log.info("Export the tasks of the user: {}", userId);
+        try (Stream<TaskChange> tasks = todoTaskRepository.streamAllByUserId(userId)) {
+            tasks.forEach(action);
+        }
+    }
+
+    // delete task by id, the tombstone is rolled back along with the delete if it fails
     @Override
+    @Transactional
     public void deleteTaskById(User principal, Long taskId) {
-        todoTaskRepository.deleteById(taskId);
+        tombstoneRepository.saveTaskTombstone(taskId, principal.getId(), isAdmin(principal), new Date());
+        int deleted = todoTaskRepository.deleteTask(taskId, principal.getId(), isAdmin(principal));
+        checkDeleted(deleted, () -> todoTaskRepository.existsById(taskId), "Task");
         log.info("The task with id={} was deleted successfully", taskId);
     }
 
@@ -78,11 +133,15 @@ public class TodoTaskServiceImpl extends AbstractServiceClass implements TodoTas
         return todoTaskRepository.save(task);
     }
 
+    // move the tasks to or remove them from the section with one update
     @Override
-    public List<TodoTask> findTasksByIds(Set<Long> taskIds, Long userId) {
-        List<TodoTask> tasksByIds = todoTaskRepository.findAllByIdInAndUserId(taskIds, userId);
-        log.info("Get tasks by set of ids: {}", tasksByIds.size());
-        return tasksByIds;
+    public int updateTasksSection(Long userId, Long sectionId, Set<Long> taskIds, FilterByOperation flag) {
+        int updated = flag == FilterByOperation.MOVE
+                ? todoTaskRepository.moveToSection(userId, sectionId, taskIds)
+                : todoTaskRepository.removeFromSection(userId, sectionId, taskIds);
+
+        log.info("{} {} of {} tasks, section id={}", flag, updated, taskIds.size(), sectionId);
+        return updated;
     }
 
     @Override
@@ -90,4 +149,86 @@ public class TodoTaskServiceImpl extends AbstractServiceClass implements TodoTas
         todoTaskRepository.save(task);
     }
 
+    // apply the operations in one transaction, a failed operation doesn't stop the following ones;
+    // the statements are sent in JDBC batches when the transaction is flushed
+    @Override
+    @Transactional
+    public List<TaskOperationResult> applyOperations(User user, List<TaskOperation> operations) {
+        Set<Long> taskIds = operations.stream()
+                .map(TaskOperation::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        // the tasks to update and delete are loaded with a single query
+        Map<Long, TodoTask> tasks = taskIds.isEmpty() ? Map.of() :
+                todoTaskRepository.findAllByIdInAndUserId(taskIds, user.getId()).stream()
+                        .collect(Collectors.toMap(TodoTask::getId, Function.identity()));
+
+        List<TaskOperationResult> results = new ArrayList<>(operations.size());
+        Set<Long> deleted = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            results.add(applyOperation(i, operations.get(i), user, tasks, deleted));
+        }
+
+        if (!deleted.isEmpty()) {
+            Date now = new Date();
+            tombstoneRepository.saveAll(deleted.stream()
+                    .map(taskId -> new Tombstone(user.getId(), EntityType.TASK, taskId, now))
+                    .collect(Collectors.toList()));
+        }
+
+        log.info("Applied {} task operations", operations.size());
+        return results;
+    }
+
+    private TaskOperationResult applyOperation(int index, TaskOperation operation, User user,
+                                               Map<Long, TodoTask> tasks, Set<Long> deleted) {
+        TodoTask changes = operation.getTask();
+        Long taskId = operation.getId();
+
+        switch (operation.getOp()) {
+            case CREATE:
+                if (changes == null || changes.getTitle() == null) {
+                    return TaskOperationResult.failure(index, operation.getOp(), null,
+                            HttpStatus.BAD_REQUEST, "Task title is required");
+                }
+                changes.setUser(user);
+                TodoTask created = todoTaskRepository.save(changes);
+                return TaskOperationResult.success(index, operation.getOp(), created.getId(), HttpStatus.CREATED);
+            case UPDATE:
+            case DELETE:
+                if (taskId == null) {
+                    return TaskOperationResult.failure(index, operation.getOp(), null,
+                            HttpStatus.BAD_REQUEST, "Task id is required");
+                }
+                TodoTask task = tasks.get(taskId);
+                if (task == null || deleted.contains(taskId)) {
+                    return TaskOperationResult.failure(index, operation.getOp(), taskId,
+                            HttpStatus.NOT_FOUND, "Task not found: " + taskId);
+                }
+                if (operation.getOp() == BatchOperation.DELETE) {
+                    todoTaskRepository.delete(task);
+                    deleted.add(taskId);
+                    return TaskOperationResult.success(index, operation.getOp(), taskId, HttpStatus.NO_CONTENT);
+                }
+                if (changes == null) {
+                    return TaskOperationResult.failure(index, operation.getOp(), taskId,
+                            HttpStatus.BAD_REQUEST, "Task is required");
+                }
+                copyNonNullFields(changes, task);
+                return TaskOperationResult.success(index, operation.getOp(), taskId, HttpStatus.OK);
+            default:
+                return TaskOperationResult.failure(index, operation.getOp(), taskId,
+                        HttpStatus.BAD_REQUEST, "Unknown operation");
+        }
+    }
+
+    // the same fields the single task update maps, nulls are skipped
+    private static void copyNonNullFields(TodoTask source, TodoTask target) {
+        if (source.getTitle() != null) target.setTitle(source.getTitle());
+        if (source.getCompletionDate() != null) target.setCompletionDate(source.getCompletionDate());
+        target.setCompleted(source.isCompleted());
+        target.setStarred(source.isStarred());
+    }
+
 }
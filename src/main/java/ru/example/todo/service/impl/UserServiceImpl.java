@@ -4,17 +4,20 @@ package ru.example.todo.service.impl;
  * Time: 4:39 PM
  * */
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import ru.example.todo.config.properties.TokenProperties;
 import ru.example.todo.entity.RefreshToken;
 import ru.example.todo.entity.User;
 import ru.example.todo.exception.CustomException;
+import ru.example.todo.exception.ServiceUnavailableException;
 import ru.example.todo.repository.UserRepository;
 import ru.example.todo.security.UserDetailsImpl;
 import ru.example.todo.service.JwtTokenService;
@@ -28,8 +31,10 @@ import java.util.Map;
 @Service
 public class UserServiceImpl extends AbstractServiceClass implements UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class.getName());
+
     private final AuthenticationManager authManager;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordEncoder passwordEncoder;
     private final JwtTokenService jwtTokenService;
     private final RefreshTokenService refreshTokenService;
     private final UserRepository userRepository;
@@ -37,12 +42,12 @@ public class UserServiceImpl extends AbstractServiceClass implements UserService
 
     public UserServiceImpl(JwtTokenService jwtTokenService, UserRepository userRepository,
                            TokenProperties tokenProperties, AuthenticationManager authManager,
-                           BCryptPasswordEncoder bCryptPasswordEncoder, RefreshTokenService refreshTokenService) {
+                           PasswordEncoder passwordEncoder, RefreshTokenService refreshTokenService) {
         this.jwtTokenService = jwtTokenService;
         this.userRepository = userRepository;
         this.tokenProperties = tokenProperties;
         this.authManager = authManager;
-        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.passwordEncoder = passwordEncoder;
         this.refreshTokenService = refreshTokenService;
     }
 
@@ -52,6 +57,7 @@ public class UserServiceImpl extends AbstractServiceClass implements UserService
             Authentication auth = authManager
                     .authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword()));
             User userFromDb = ((UserDetailsImpl) auth.getPrincipal()).getUser();
+            rehashPassword(userFromDb, user.getPassword());
             return buildResponseBody(userFromDb, ip);
         } catch (AuthenticationException ex) {
             throw new CustomException("Username Not Found / Incorrect Password", HttpStatus.NOT_FOUND);
@@ -64,7 +70,7 @@ public class UserServiceImpl extends AbstractServiceClass implements UserService
             throw new CustomException("Username already in use", HttpStatus.BAD_REQUEST);
         }
 
-        user.setPassword(bCryptPasswordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
         userRepository.save(user);
         return "ok";
     }
@@ -93,12 +99,22 @@ public class UserServiceImpl extends AbstractServiceClass implements UserService
                 .orElseThrow(() -> new CustomException("User Not Found", HttpStatus.NOT_FOUND));
     }
 
+    @Override
+    public User getUserReference(Long userId) {
+        return userRepository.getOne(userId);
+    }
+
+    @Override
+    public String getDataVersion(Long userId) {
+        return userRepository.findDataVersion(userId);
+    }
+
     @Override
     public void updatePassword(String email, String password) {
         User user = userRepository.findByUsername(email)
                 .orElseThrow(() -> new CustomException("Username Not Found", HttpStatus.BAD_REQUEST));
 
-        user.setPassword(bCryptPasswordEncoder.encode(password));
+        user.setPassword(passwordEncoder.encode(password));
         userRepository.save(user);
     }
 
@@ -107,6 +123,20 @@ public class UserServiceImpl extends AbstractServiceClass implements UserService
         return userRepository.existsByUsername(email);
     }
 
+    // migrates the stored hash to the configured BCrypt cost, the raw password is known only here
+    void rehashPassword(User user, String rawPassword) {
+        if (user.getPassword() == null || !passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+
+        try {
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+        } catch (ServiceUnavailableException ex) {
+            log.debug("Password rehash postponed, the encoder is busy: {}", user.getId());
+        }
+    }
+
     Map<String, String> buildResponseBody(User user, String ip) {
         String accessToken = jwtTokenService.buildAccessToken(user.getId(), user.getRoles());
         String refreshToken = refreshTokenService.createRefreshToken(user.getId(), ip);
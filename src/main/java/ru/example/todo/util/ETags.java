@@ -0,0 +1,16 @@
+package ru.example.todo.util;
+/*
+ * Date: 10/18/26
+ * Time: 8:50 PM
+ * */
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    // a quoted strong ETag, the digest of all the values the response depends on
+    public static String of(String... values) {
+        return '"' + Sha256.hex(String.join("|", values)).substring(0, 32) + '"';
+    }
+}
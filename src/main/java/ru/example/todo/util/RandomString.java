@@ -8,6 +8,12 @@ import java.security.SecureRandom;
 import java.util.Locale;
 import java.util.Random;
 
+/**
+ * Not thread-safe: the buffer is shared between the calls.
+ *
+ * @deprecated use {@link TokenGenerator}
+ */
+@Deprecated
 public final class RandomString {
 
     private final Random random;
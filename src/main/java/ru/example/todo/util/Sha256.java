@@ -0,0 +1,37 @@
+package ru.example.todo.util;
+/*
+ * Date: 10/18/26
+ * Time: 4:50 PM
+ * */
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public final class Sha256 {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private Sha256() {
+    }
+
+    public static byte[] digest(String value) {
+        try {
+            // MessageDigest is not thread-safe, a new instance is cheap
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+    }
+
+    // 64 lowercase hex characters
+    public static String hex(String value) {
+        byte[] digest = digest(value);
+        char[] chars = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            chars[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(chars);
+    }
+}
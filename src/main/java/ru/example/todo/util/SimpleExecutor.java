@@ -8,6 +8,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import ru.example.todo.config.properties.ImportProperties;
 
 import java.util.concurrent.Executor;
 
@@ -27,4 +28,18 @@ public class SimpleExecutor {
 
         return executor;
     }
+
+    // the imports are long and disk bound, kept apart so they never hold up the other async work
+    @Bean
+    public Executor importExecutor(ImportProperties importProperties) {
+        var executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(importProperties.getThreads());
+        executor.setMaxPoolSize(importProperties.getThreads());
+        executor.setQueueCapacity(importProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("importExecutor-");
+        executor.initialize();
+
+        return executor;
+    }
 }
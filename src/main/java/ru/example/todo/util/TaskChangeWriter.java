@@ -0,0 +1,98 @@
+package ru.example.todo.util;
+/*
+ * Date: 10/18/26
+ * Time: 10:50 PM
+ * */
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import ru.example.todo.domain.TaskChange;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Date;
+
+/**
+ * Writes the tasks of the delta sync and of the export field by field, as they are read,
+ * so no task list or document tree is built. The dates are ISO-8601 in UTC, the same in both formats.
+ */
+public final class TaskChangeWriter {
+
+    public static final String CSV_HEADER =
+            "id,title,completed,starred,completionDate,sectionId,createdAt,updatedAt";
+
+    private TaskChangeWriter() {
+    }
+
+    public static void writeJson(JsonGenerator json, TaskChange task) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", task.getId());
+        json.writeStringField("title", task.getTitle());
+        json.writeBooleanField("completed", task.isCompleted());
+        json.writeBooleanField("starred", task.isStarred());
+        json.writeStringField("completionDate",
+                task.getCompletionDate() == null ? null : task.getCompletionDate().toString());
+        json.writeObjectField("sectionId", task.getSectionId());
+        json.writeStringField("createdAt", format(task.getCreatedAt()));
+        json.writeStringField("updatedAt", format(task.getUpdatedAt()));
+        json.writeEndObject();
+    }
+
+    // a record per line in the order of the header, a missing value is an empty field
+    public static void writeCsv(Writer writer, TaskChange task) throws IOException {
+        writer.write(String.valueOf(task.getId()));
+        writer.write(',');
+        writeCsvField(writer, task.getTitle());
+        writer.write(',');
+        writer.write(String.valueOf(task.isCompleted()));
+        writer.write(',');
+        writer.write(String.valueOf(task.isStarred()));
+        writer.write(',');
+        if (task.getCompletionDate() != null) writer.write(task.getCompletionDate().toString());
+        writer.write(',');
+        if (task.getSectionId() != null) writer.write(String.valueOf(task.getSectionId()));
+        writer.write(',');
+        if (task.getCreatedAt() != null) writer.write(format(task.getCreatedAt()));
+        writer.write(',');
+        if (task.getUpdatedAt() != null) writer.write(format(task.getUpdatedAt()));
+        writer.write("\r\n");
+    }
+
+    public static String format(Date date) {
+        return date == null ? null : date.toInstant().toString();
+    }
+
+    // RFC 4180: quoted if it holds a separator, a quote or a line break, the quotes doubled
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) return;
+        // a spreadsheet would run it as a formula; the import drops the quote again
+        if (isFormula(value)) value = "'" + value;
+
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Whether a spreadsheet would read the CSV field as a formula: it starts with <b>=</b>, <b>+</b>,
+     * <b>-</b>, <b>@</b>, a tab or a carriage return, after any leading quotes, so a title that
+     * starts with a quote comes back unchanged too.
+     */
+    public static boolean isFormula(String value) {
+        int i = 0;
+        while (i < value.length() && value.charAt(i) == '\'') i++;
+        if (i == value.length()) return false;
+
+        char c = value.charAt(i);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+}
@@ -0,0 +1,40 @@
+package ru.example.todo.util;
+/*
+ * Date: 10/18/26
+ * Time: 6:30 PM
+ * */
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Thread-safe generator of random tokens. Each thread keeps its own SecureRandom,
+ * seeded once on the first use, so the threads never contend on a shared generator
+ * and no generator is created per call. The random bytes are generated in bulk
+ * and encoded with the URL-safe base64 alphabet without padding (6 bits per character).
+ */
+@Component
+public class TokenGenerator {
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Generates a random token.
+     *
+     * @param length the number of characters, at least 32
+     * @return the base64url token
+     */
+    public String nextToken(int length) {
+        if (length < 32) throw new IllegalArgumentException("The token is too short: " + length);
+
+        byte[] bytes = new byte[(length * 6 + 7) / 8];
+        RANDOM.get().nextBytes(bytes);
+
+        String token = ENCODER.encodeToString(bytes);
+        return token.length() == length ? token : token.substring(0, length);
+    }
+
+}
@@ -0,0 +1,16 @@
+package ru.example.todo.util.converters;
+/*
+ * Date: 10/18/26
+ * Time: 10:45 PM
+ * */
+
+import org.springframework.core.convert.converter.Converter;
+import ru.example.todo.enums.DataFormat;
+
+public class StringToDataFormatEnumConverter implements Converter<String, DataFormat> {
+
+    @Override
+    public DataFormat convert(String string) {
+        return DataFormat.valueOf(string.toUpperCase());
+    }
+}
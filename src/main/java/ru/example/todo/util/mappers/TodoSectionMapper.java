@@ -0,0 +1,20 @@
+package ru.example.todo.util.mappers;
+/*
+ * Date: 10/18/26
+ * Time: 7:30 PM
+ * */
+
+import ru.example.todo.dto.TodoSectionDto;
+import ru.example.todo.entity.TodoSection;
+
+public final class TodoSectionMapper {
+
+    private TodoSectionMapper() {
+    }
+
+    public static TodoSection toEntity(TodoSectionDto sectionDto) {
+        TodoSection section = new TodoSection();
+        if (sectionDto.getTitle() != null) section.setTitle(sectionDto.getTitle());
+        return section;
+    }
+}
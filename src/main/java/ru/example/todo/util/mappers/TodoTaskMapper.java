@@ -0,0 +1,28 @@
+package ru.example.todo.util.mappers;
+/*
+ * Date: 10/18/26
+ * Time: 7:30 PM
+ * */
+
+import ru.example.todo.dto.TodoTaskDto;
+import ru.example.todo.entity.TodoTask;
+
+// the null fields are skipped, as the ModelMapper bean did
+public final class TodoTaskMapper {
+
+    private TodoTaskMapper() {
+    }
+
+    public static TodoTask toEntity(TodoTaskDto taskDto) {
+        TodoTask task = new TodoTask();
+        copy(taskDto, task);
+        return task;
+    }
+
+    public static void copy(TodoTaskDto taskDto, TodoTask task) {
+        if (taskDto.getTitle() != null) task.setTitle(taskDto.getTitle());
+        if (taskDto.getCompletionDate() != null) task.setCompletionDate(taskDto.getCompletionDate());
+        task.setCompleted(taskDto.isCompleted());
+        task.setStarred(taskDto.isStarred());
+    }
+}
@@ -0,0 +1,21 @@
+package ru.example.todo.util.mappers;
+/*
+ * Date: 10/18/26
+ * Time: 7:30 PM
+ * */
+
+import ru.example.todo.dto.UserDto;
+import ru.example.todo.entity.User;
+
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    public static User toEntity(UserDto userDto) {
+        User user = new User();
+        if (userDto.getUsername() != null) user.setUsername(userDto.getUsername());
+        if (userDto.getPassword() != null) user.setPassword(userDto.getPassword());
+        return user;
+    }
+}
@@ -0,0 +1,175 @@
+package ru.example.todo.util.readers;
+/*
+ * Date: 10/18/26
+ * Time: 11:30 PM
+ * */
+
+import ru.example.todo.dto.TodoTaskDto;
+import ru.example.todo.util.TaskChangeWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 records under a header line, read a char at a time. The columns are found by name,
+ * in any order: <b>title</b> is required, <b>completed</b>, <b>starred</b> and <b>completionDate</b>
+ * are optional and the others, such as the ids and the dates of the export, are ignored.
+ */
+public class CsvTaskRowReader implements TaskRowReader {
+
+    // far longer than any valid task, the rest of a longer field is skipped
+    static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final int titleColumn;
+    private final int completedColumn;
+    private final int starredColumn;
+    private final int completionDateColumn;
+
+    // the line the next record starts at
+    private int line = 1;
+    private boolean unterminated;
+    private boolean tooLong;
+
+    public CsvTaskRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+
+        List<String> header = readRecord();
+        if (header == null) throw new IOException("The upload is empty");
+        // the byte order mark some spreadsheets write
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+
+        this.titleColumn = indexOf(header, "title");
+        this.completedColumn = indexOf(header, "completed");
+        this.starredColumn = indexOf(header, "starred");
+        this.completionDateColumn = indexOf(header, "completionDate");
+        if (titleColumn < 0) throw new IOException("The CSV header has no title column");
+    }
+
+    @Override
+    public TaskRow next() throws IOException {
+        while (true) {
+            int start = line;
+            List<String> fields = readRecord();
+            if (fields == null) return null;
+            if (unterminated) return TaskRow.error(start, "Unterminated quoted field");
+            if (tooLong) return TaskRow.error(start, "The field is too long");
+            if (fields.size() == 1 && fields.get(0).isEmpty()) continue; // a blank line
+
+            return toRow(start, fields);
+        }
+    }
+
+    private TaskRow toRow(int start, List<String> fields) {
+        String title = field(fields, titleColumn);
+        // the quote the export puts before a formula
+        if (title != null && title.startsWith("'") && TaskChangeWriter.isFormula(title)) title = title.substring(1);
+        TodoTaskDto task = new TodoTaskDto(title == null || title.isEmpty() ? null : title);
+
+        Boolean completed = parseBoolean(field(fields, completedColumn));
+        if (completed == null) return TaskRow.error(start, "completed must be true or false");
+        task.setCompleted(completed);
+
+        Boolean starred = parseBoolean(field(fields, starredColumn));
+        if (starred == null) return TaskRow.error(start, "starred must be true or false");
+        task.setStarred(starred);
+
+        // without the column the task is due today, as with the API, an empty field means no date
+        if (completionDateColumn >= 0) {
+            String completionDate = field(fields, completionDateColumn);
+            try {
+                task.setCompletionDate(completionDate == null || completionDate.isEmpty()
+                        ? null : LocalDate.parse(completionDate));
+            } catch (DateTimeParseException ex) {
+                return TaskRow.error(start, "completionDate must be a date as yyyy-MM-dd");
+            }
+        }
+
+        return TaskRow.of(start, task);
+    }
+
+    // the fields of the next record, null at the end of the input
+    private List<String> readRecord() throws IOException {
+        unterminated = false;
+        tooLong = false;
+
+        int c = reader.read();
+        if (c < 0) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (; ; c = reader.read()) {
+            if (quoted) {
+                if (c < 0) {
+                    unterminated = true;
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        append(field, '"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') reader.reset();
+                }
+                if (c >= 0) line++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, (char) c);
+            }
+        }
+    }
+
+    private void append(StringBuilder field, char c) {
+        if (field.length() < MAX_FIELD_LENGTH) {
+            field.append(c);
+        } else {
+            tooLong = true;
+        }
+    }
+
+    private static int indexOf(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(column)) return i;
+        }
+        return -1;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column < 0 || column >= fields.size() ? null : fields.get(column);
+    }
+
+    // a missing value is false, null if it isn't a boolean
+    private static Boolean parseBoolean(String value) {
+        if (value == null || value.isEmpty() || value.equalsIgnoreCase("false")) return false;
+        return value.equalsIgnoreCase("true") ? true : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
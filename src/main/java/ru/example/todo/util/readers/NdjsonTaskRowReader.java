@@ -0,0 +1,75 @@
+package ru.example.todo.util.readers;
+/*
+ * Date: 10/18/26
+ * Time: 11:25 PM
+ * */
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ru.example.todo.dto.TodoTaskDto;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// a JSON object per line, the fields of the export other than the task ones are ignored
+public class NdjsonTaskRowReader implements TaskRowReader {
+
+    // far longer than any valid task, the rest of a longer line is skipped
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final Reader reader;
+    private final ObjectReader objectReader;
+    private final StringBuilder text = new StringBuilder();
+    private int line;
+
+    public NdjsonTaskRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectReader = objectMapper.readerFor(TodoTaskDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public TaskRow next() throws IOException {
+        while (true) {
+            int length = readLine();
+            if (length < 0) return null;
+            line++;
+            if (length > MAX_LINE_LENGTH) return TaskRow.error(line, "The line is too long");
+            if (text.toString().isBlank()) continue;
+
+            try {
+                TodoTaskDto task = objectReader.readValue(text.toString());
+                return task == null
+                        ? TaskRow.error(line, "Expected a JSON object")
+                        : TaskRow.of(line, task);
+            } catch (JsonProcessingException ex) {
+                return TaskRow.error(line, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    // reads the next line into text, up to MAX_LINE_LENGTH chars;
+    // returns the length of the whole line, -1 at the end of the input
+    private int readLine() throws IOException {
+        text.setLength(0);
+        int length = 0;
+        int c;
+        while ((c = reader.read()) >= 0 && c != '\n') {
+            if (length++ < MAX_LINE_LENGTH) text.append((char) c);
+        }
+        if (c < 0 && length == 0) return -1;
+
+        if (text.length() > 0 && text.charAt(text.length() - 1) == '\r') {
+            text.setLength(text.length() - 1);
+            length--;
+        }
+        return length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
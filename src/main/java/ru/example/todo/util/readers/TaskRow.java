@@ -0,0 +1,41 @@
+package ru.example.todo.util.readers;
+/*
+ * Date: 10/18/26
+ * Time: 11:20 PM
+ * */
+
+import ru.example.todo.dto.TodoTaskDto;
+
+// a row of an upload, either the task it holds or why it couldn't be read
+public final class TaskRow {
+
+    private final int line;
+    private final TodoTaskDto task;
+    private final String error;
+
+    private TaskRow(int line, TodoTaskDto task, String error) {
+        this.line = line;
+        this.task = task;
+        this.error = error;
+    }
+
+    public static TaskRow of(int line, TodoTaskDto task) {
+        return new TaskRow(line, task, null);
+    }
+
+    public static TaskRow error(int line, String error) {
+        return new TaskRow(line, null, error);
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public TodoTaskDto getTask() {
+        return task;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.example.todo.util.readers;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the tasks of an upload a row at a time, so only the current row is held in memory.
+ * A row that can't be read is returned as an error and the reader goes on with the next one.
+ */
+public interface TaskRowReader extends Closeable {
+
+    /**
+     * Reads the next row.
+     *
+     * @return the row, <b>null</b> at the end of the upload
+     * @throws IOException if the upload can't be read any further
+     */
+    TaskRow next() throws IOException;
+}
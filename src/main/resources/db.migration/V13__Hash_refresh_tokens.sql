@@ -0,0 +1,13 @@
+-- refresh tokens are stored as the hex SHA-256 digest of the value
+update tokens
+set value = encode(sha256(convert_to(value, 'UTF8')), 'hex');
+
+alter table tokens
+    rename column value to token_hash;
+
+alter table tokens
+    alter column token_hash type char(64);
+
+create unique index tokens_token_hash_uindex on tokens (token_hash);
+
+create index tokens_user_id_index on tokens (user_id);
@@ -0,0 +1,2 @@
+-- lets the expired tokens sweeper find a batch without scanning the table
+create index tokens_expires_at_index on tokens (expires_at);
@@ -0,0 +1,12 @@
+-- one refresh token per user, required by the insert ... on conflict (user_id) upsert
+delete
+from tokens t
+    using tokens newer
+where t.user_id = newer.user_id
+  and t.id < newer.id;
+
+alter table tokens
+    add constraint tokens_user_id_key unique (user_id);
+
+-- covered by the unique constraint index
+drop index tokens_user_id_index;
@@ -0,0 +1,20 @@
+-- indexes of the task list filters, the user_id goes first as every query is scoped by the owner;
+-- concurrently, so the task table stays writable while they are built
+create index concurrently if not exists task_user_id_completed_completion_date_idx
+    on task (user_id, completed, completion_date);
+
+-- the open tasks are the ones listed most of the time
+create index concurrently if not exists task_user_id_completion_date_open_idx
+    on task (user_id, completion_date)
+    where completed = false;
+
+create index concurrently if not exists task_user_id_completion_date_starred_idx
+    on task (user_id, completion_date)
+    where starred = true;
+
+create index concurrently if not exists task_user_id_list_id_idx
+    on task (user_id, list_id);
+
+-- like 'prefix%' can use the index whatever the database collation is
+create index concurrently if not exists task_user_id_title_prefix_idx
+    on task (user_id, title varchar_pattern_ops);
@@ -0,0 +1,20 @@
+-- indexes of the remaining repository queries, built concurrently so the tables stay writable
+
+-- the default task list order: the (sort key, id) pair matches both the page sort and the keyset cursor,
+-- a backward scan serves the ascending order
+create index concurrently if not exists task_user_id_created_at_id_idx
+    on task (user_id, created_at desc, id desc);
+
+create index concurrently if not exists task_user_id_updated_at_id_idx
+    on task (user_id, updated_at desc, id desc);
+
+-- the tasks of a section, also used by the "on delete set null" of the section foreign key
+create index concurrently if not exists task_list_id_idx
+    on task (list_id);
+
+create index concurrently if not exists section_user_id_idx
+    on section (user_id);
+
+-- the roles are loaded along with every user
+create index concurrently if not exists user_roles_user_id_idx
+    on user_roles (user_id);
@@ -0,0 +1,2 @@
+-- hibernate reserves the task ids in blocks of 50 (the allocationSize of the task_id_seq generator)
+alter sequence task_id_seq increment by 50;
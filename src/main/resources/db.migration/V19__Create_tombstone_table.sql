@@ -0,0 +1,15 @@
+-- the deleted tasks and sections, read by the delta sync and purged after sync.tombstone_retention
+create table tombstone
+(
+    id          bigserial primary key,
+    user_id     bigint      not null references app_user on delete cascade,
+    entity_type varchar(16) not null,
+    entity_id   bigint      not null,
+    deleted_at  timestamp   not null
+);
+
+create index tombstone_user_id_deleted_at_idx
+    on tombstone (user_id, deleted_at);
+
+create index tombstone_deleted_at_idx
+    on tombstone (deleted_at);
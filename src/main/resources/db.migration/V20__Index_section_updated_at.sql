@@ -0,0 +1,3 @@
+-- the sections changed since the last delta sync, the tasks use task_user_id_updated_at_id_idx
+create index concurrently if not exists section_user_id_updated_at_idx
+    on section (user_id, updated_at);
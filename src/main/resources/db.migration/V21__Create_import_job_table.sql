@@ -0,0 +1,27 @@
+-- the task imports run in the background, the counters are updated with each committed batch
+create table import_job
+(
+    id         bigserial primary key,
+    user_id    bigint      not null references app_user on delete cascade,
+    status     varchar(16) not null,
+    processed  integer     not null default 0,
+    imported   integer     not null default 0,
+    failed     integer     not null default 0,
+    message    varchar(255),
+    created_at timestamp   not null,
+    updated_at timestamp   not null
+);
+
+create index import_job_user_id_idx
+    on import_job (user_id);
+
+-- the first import.max_errors rejected rows of a job
+create table import_job_error
+(
+    job_id  bigint       not null references import_job on delete cascade,
+    line    integer      not null,
+    message varchar(255) not null
+);
+
+create index import_job_error_job_id_idx
+    on import_job_error (job_id);
@@ -0,0 +1,9 @@
+-- the completed and starred filters are bound as parameters, a generic plan can't prove
+-- the predicates of the partial indexes, so they were maintained on every write but not used;
+-- task_user_id_completed_completion_date_idx already covers the open tasks
+drop index concurrently if exists task_user_id_completion_date_open_idx;
+
+drop index concurrently if exists task_user_id_completion_date_starred_idx;
+
+create index concurrently if not exists task_user_id_starred_completion_date_idx
+    on task (user_id, starred, completion_date);
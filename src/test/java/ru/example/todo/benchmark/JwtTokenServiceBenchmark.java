@@ -0,0 +1,80 @@
+package ru.example.todo.benchmark;
+/*
+ * Date: 10/18/26
+ * Time: 1:20 PM
+ * */
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.Authentication;
+import ru.example.todo.config.properties.TokenProperties;
+import ru.example.todo.enums.Role;
+import ru.example.todo.service.impl.JwtTokenServiceImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the JwtTokenFilter authentication.
+ * <b>legacyFilterPath</b> reproduces the former behaviour: the key is derived
+ * and a parser is built for both <b>isAccessTokenValid</b> and <b>getAuthentication</b>,
+ * so the signature is verified twice. <b>getAuthentication</b> is the current path.
+ * <p>
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ru.example.todo.benchmark.JwtTokenServiceBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenServiceBenchmark {
+
+    private TokenProperties tokenProperties;
+    private JwtTokenServiceImpl jwtTokenService;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        tokenProperties = new TokenProperties();
+        tokenProperties.setSecret("very-secret-secret-key12345-secret-secret");
+        tokenProperties.setAccessTokenValidity(1_800_000L);
+
+        jwtTokenService = new JwtTokenServiceImpl(tokenProperties);
+        accessToken = jwtTokenService.buildAccessToken(1L, Set.of(Role.USER, Role.ADMIN));
+    }
+
+    @Benchmark
+    public Object legacyFilterPath() {
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(tokenProperties.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(accessToken);
+
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(tokenProperties.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(accessToken)
+                .getBody();
+        return claims.get("auth").toString();
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return jwtTokenService.getAuthentication(accessToken);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
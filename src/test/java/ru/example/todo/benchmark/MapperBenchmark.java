@@ -0,0 +1,94 @@
+package ru.example.todo.benchmark;
+/*
+ * Date: 10/18/26
+ * Time: 7:45 PM
+ * */
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.example.todo.dto.TodoSectionDto;
+import ru.example.todo.dto.TodoTaskDto;
+import ru.example.todo.dto.UserDto;
+import ru.example.todo.entity.TodoSection;
+import ru.example.todo.entity.TodoTask;
+import ru.example.todo.entity.User;
+import ru.example.todo.util.mappers.TodoSectionMapper;
+import ru.example.todo.util.mappers.TodoTaskMapper;
+import ru.example.todo.util.mappers.UserMapper;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping the request bodies to the entities.
+ * The <b>modelMapper*</b> benchmarks use a ModelMapper configured as the former bean was,
+ * the <b>mapper*</b> ones the hand-written mappers the controllers use now.
+ * <p>
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ru.example.todo.benchmark.MapperBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private TodoTaskDto taskDto;
+    private TodoSectionDto sectionDto;
+    private UserDto userDto;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setSkipNullEnabled(true)
+                .setMatchingStrategy(MatchingStrategies.STRICT);
+        taskDto = new TodoTaskDto("Make a call", LocalDate.now(), false, true);
+        sectionDto = new TodoSectionDto("Important");
+        userDto = new UserDto("client@mail.com", "password");
+    }
+
+    @Benchmark
+    public TodoTask modelMapperTask() {
+        return modelMapper.map(taskDto, TodoTask.class);
+    }
+
+    @Benchmark
+    public TodoTask mapperTask() {
+        return TodoTaskMapper.toEntity(taskDto);
+    }
+
+    @Benchmark
+    public TodoSection modelMapperSection() {
+        return modelMapper.map(sectionDto, TodoSection.class);
+    }
+
+    @Benchmark
+    public TodoSection mapperSection() {
+        return TodoSectionMapper.toEntity(sectionDto);
+    }
+
+    @Benchmark
+    public User modelMapperUser() {
+        return modelMapper.map(userDto, User.class);
+    }
+
+    @Benchmark
+    public User mapperUser() {
+        return UserMapper.toEntity(userDto);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
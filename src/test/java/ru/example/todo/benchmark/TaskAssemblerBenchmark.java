@@ -0,0 +1,96 @@
+package ru.example.todo.benchmark;
+/*
+ * Date: 10/18/26
+ * Time: 8:30 PM
+ * */
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.example.todo.controller.TodoTaskController;
+import ru.example.todo.controller.assembler.TodoTaskModelAssembler;
+import ru.example.todo.entity.TodoTask;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Cost of assembling the links of a 100-task page.
+ * <b>linkToPage</b> builds both links with <b>linkTo(methodOn(...))</b> for every task, as the
+ * assembler did before, <b>assemblerPage</b> uses the cached links of <b>TodoTaskModelAssembler</b>.
+ * Every invocation is a new request, so the base URI is resolved once per page in both.
+ * <p>
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ru.example.todo.benchmark.TaskAssemblerBenchmark</code>
+ */
+@State(Scope.Thread) // the request is bound to the benchmark thread
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskAssemblerBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final TodoTaskModelAssembler assembler = new TodoTaskModelAssembler();
+    private final List<TodoTask> tasks = new ArrayList<>(PAGE_SIZE);
+
+    @Setup
+    public void setUp() {
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            TodoTask task = new TodoTask("Task " + id, LocalDate.now());
+            ReflectionTestUtils.setField(task, "id", id);
+            tasks.add(task);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown(Level.Invocation)
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<EntityModel<TodoTask>> linkToPage() {
+        return tasks.stream()
+                .map(task -> EntityModel.of(task,
+                        linkTo(methodOn(TodoTaskController.class)
+                                .getTask(null, task.getId())).withSelfRel(),
+                        linkTo(methodOn(TodoTaskController.class)
+                                .getTasks(null, null, null, null, null, null,
+                                        null, null, null, null, null, null, null)).withRel("tasks")))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<EntityModel<TodoTask>> assemblerPage() {
+        return tasks.stream()
+                .map(assembler::toModel)
+                .collect(Collectors.toList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskAssemblerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,52 @@
+package ru.example.todo.benchmark;
+/*
+ * Date: 10/18/26
+ * Time: 6:50 PM
+ * */
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.example.todo.util.RandomString;
+import ru.example.todo.util.TokenGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a 64-character refresh token. <b>randomString</b> is the former path,
+ * a new RandomString (and SecureRandom) per login, <b>tokenGenerator</b> is the
+ * shared generator. Runs with 4 threads to show the contention as well.
+ * <p>
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ru.example.todo.benchmark.TokenGeneratorBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TokenGeneratorBenchmark {
+
+    private final TokenGenerator tokenGenerator = new TokenGenerator();
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public String randomString() {
+        return new RandomString(64).nextString();
+    }
+
+    @Benchmark
+    public String tokenGenerator() {
+        return tokenGenerator.nextToken(64);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -25,6 +25,7 @@ abstract class AbstractControllerTestClass {
     protected static final String API_TASKS = "/api/tasks/";
     protected static final String API_USERS = "/api/users/";
     protected static final String API_AUTH = "/api/auth/";
+    protected static final String API_SYNC = "/api/sync/";
 
     protected static final String ADMIN = "admin@mail.com";
     protected static final String USER = "client@mail.com";
@@ -8,12 +8,14 @@ import org.json.JSONObject;
 import org.junit.Test;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 import ru.example.todo.dto.UserDto;
 import ru.example.todo.entity.User;
 import ru.example.todo.exception.CustomException;
+import ru.example.todo.exception.ServiceUnavailableException;
 import ru.example.todo.facade.PasswordFacade;
 import ru.example.todo.messaging.MessagingService;
 import ru.example.todo.messaging.requests.EmailRequest;
@@ -33,6 +35,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -91,6 +94,19 @@ public class AuthControllerTest extends AbstractControllerTestClass {
         verify(userService, times(1)).login(any(User.class), anyString());
     }
 
+    @Test
+    public void login_EncoderIsBusy_ShouldReturnServiceUnavailable() throws Exception {
+        given(userService.login(any(User.class), anyString()))
+                .willThrow(new ServiceUnavailableException("Too many requests, try again later", 1));
+
+        mvc.perform(post(API_AUTH + "login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(usernamePasswordRequestBody("username@mail.com", "password")))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
     @Test
     public void login_WrongPassword_ShouldThrowCustomException() throws Exception {
         UserDto userDto = mock(UserDto.class);
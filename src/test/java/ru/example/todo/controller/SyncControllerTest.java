@@ -0,0 +1,113 @@
+package ru.example.todo.controller;
+/*
+ * Date: 10/18/26
+ * Time: 10:20 PM
+ * */
+
+import org.junit.Test;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.example.todo.domain.SyncToken;
+import ru.example.todo.domain.TaskChange;
+import ru.example.todo.entity.TodoSection;
+import ru.example.todo.entity.Tombstone;
+import ru.example.todo.enums.EntityType;
+import ru.example.todo.exception.CustomException;
+import ru.example.todo.service.SyncService;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class SyncControllerTest extends AbstractControllerTestClass {
+
+    private static final SyncToken NEXT = new SyncToken(Instant.parse("2021-07-01T10:00:00Z"));
+
+    @MockBean
+    private SyncService syncService;
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void getChanges_ShouldStreamChangesAndNextToken() throws Exception {
+        given(syncService.decodeToken("token")).willReturn(new SyncToken(Instant.parse("2021-06-01T10:00:00Z")));
+        given(syncService.nextToken()).willReturn(NEXT);
+        willAnswer(invocation -> {
+            Consumer<TaskChange> action = invocation.getArgument(2);
+            action.accept(new TaskChange(1L, "Read a book", false, true, LocalDate.of(2021, 7, 5), 3L,
+                    Date.from(Instant.parse("2021-06-20T10:00:00Z")), Date.from(Instant.parse("2021-06-21T10:00:00Z"))));
+            return null;
+        }).given(syncService).forEachTask(anyLong(), any(SyncToken.class), any());
+        willAnswer(invocation -> {
+            Consumer<TodoSection> action = invocation.getArgument(2);
+            action.accept(new TodoSection(3L, "Later"));
+            return null;
+        }).given(syncService).forEachSection(anyLong(), any(SyncToken.class), any());
+        willAnswer(invocation -> {
+            Consumer<Tombstone> action = invocation.getArgument(2);
+            action.accept(new Tombstone(1L, EntityType.TASK, 5L, Date.from(Instant.parse("2021-06-22T10:00:00Z"))));
+            return null;
+        }).given(syncService).forEachTombstone(anyLong(), any(SyncToken.class), any());
+
+        MvcResult result = mvc.perform(get(API_SYNC).param("since", "token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("token", is(NEXT.encode())))
+                .andExpect(jsonPath("tasks[0].id", is(1)))
+                .andExpect(jsonPath("tasks[0].starred", is(true)))
+                .andExpect(jsonPath("tasks[0].completionDate", is("2021-07-05")))
+                .andExpect(jsonPath("tasks[0].sectionId", is(3)))
+                .andExpect(jsonPath("tasks[0].updatedAt", is("2021-06-21T10:00:00Z")))
+                .andExpect(jsonPath("sections[0].title", is("Later")))
+                .andExpect(jsonPath("sections[0].updatedAt", nullValue()))
+                .andExpect(jsonPath("deleted[0].type", is("task")))
+                .andExpect(jsonPath("deleted[0].id", is(5)));
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void getChanges_ShouldBeWrittenByStreamingExecutor() throws Exception {
+        given(syncService.nextToken()).willReturn(NEXT);
+        AtomicReference<String> thread = new AtomicReference<>();
+        willAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return null;
+        }).given(syncService).forEachTask(anyLong(), any(), any());
+
+        MvcResult result = mvc.perform(get(API_SYNC))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        assertTrue(thread.get(), thread.get().startsWith("streamingExecutor-"));
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void getChanges_ExpiredToken_ShouldReturnGone() throws Exception {
+        given(syncService.decodeToken("expired"))
+                .willThrow(new CustomException("Sync token expired, sync without a token", HttpStatus.GONE));
+
+        mvc.perform(get(API_SYNC).param("since", "expired"))
+                .andExpect(status().isGone());
+    }
+
+}
@@ -0,0 +1,93 @@
+package ru.example.todo.controller;
+/*
+ * Date: 10/19/26
+ * Time: 1:30 AM
+ * */
+
+import org.junit.Test;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.example.todo.entity.ImportError;
+import ru.example.todo.entity.ImportJob;
+import ru.example.todo.enums.DataFormat;
+import ru.example.todo.enums.ImportStatus;
+import ru.example.todo.exception.CustomException;
+import ru.example.todo.facade.TaskImportFacade;
+import ru.example.todo.service.TaskImportService;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class TaskImportControllerTest extends AbstractControllerTestClass {
+
+    private static final String API_IMPORT = API_TASKS + "import/";
+
+    @MockBean
+    private TaskImportFacade taskImportFacade;
+
+    @MockBean
+    private TaskImportService taskImportService;
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void importTasks_ShouldAcceptUploadAndLinkProgress() throws Exception {
+        given(taskImportFacade.submitImport(eq(1L), eq(DataFormat.CSV), any(InputStream.class), eq(true)))
+                .willReturn(job(7L));
+
+        mvc.perform(post(API_IMPORT)
+                .param("format", "csv")
+                .header("Content-Encoding", "gzip")
+                .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/api/tasks/import/7")))
+                .andExpect(jsonPath("id", is(7)))
+                .andExpect(jsonPath("status", is("QUEUED")))
+                .andExpect(jsonPath("userId").doesNotExist());
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void getImport_ShouldReturnProgressAndErrors() throws Exception {
+        ImportJob job = job(7L);
+        job.setStatus(ImportStatus.RUNNING);
+        job.addProgress(500, 499, List.of(new ImportError(42, "title: Size must be between 3 and 80")), 100);
+        given(taskImportService.findJob(1L, 7L)).willReturn(job);
+
+        mvc.perform(get(API_IMPORT + 7))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("status", is("RUNNING")))
+                .andExpect(jsonPath("processed", is(500)))
+                .andExpect(jsonPath("imported", is(499)))
+                .andExpect(jsonPath("failed", is(1)))
+                .andExpect(jsonPath("errors[0].line", is(42)))
+                .andExpect(jsonPath("errors[0].message", is("title: Size must be between 3 and 80")));
+    }
+
+    @Test
+    @WithUserDetails(USER)
+    public void getImport_OtherUsersJob_ShouldReturnNotFound() throws Exception {
+        given(taskImportService.findJob(2L, 7L))
+                .willThrow(new CustomException("Import job not found: 7", HttpStatus.NOT_FOUND));
+
+        mvc.perform(get(API_IMPORT + 7))
+                .andExpect(status().isNotFound());
+    }
+
+    private static ImportJob job(Long id) {
+        ImportJob job = new ImportJob(1L);
+        ReflectionTestUtils.setField(job, "id", id);
+        return job;
+    }
+
+}
@@ -19,16 +19,20 @@ import ru.example.todo.facade.TasksFacade;
 import ru.example.todo.service.TodoSectionService;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -45,13 +49,10 @@ public class TodoSectionControllerTest extends AbstractControllerTestClass {
     @Test
     @WithUserDetails(ADMIN)
     public void getSections_ShouldReturnListOfSections() throws Exception {
-        TodoSectionProjection section1 = mock(TodoSectionProjection.class);
-        given(section1.getTitle()).willReturn("section1");
+        TodoSectionProjection section1 = new TodoSectionProjection(1L, "section1", new Date(), new Date(), 2L, 1L, 0L, 1L);
+        TodoSectionProjection section2 = new TodoSectionProjection(2L, "section2", new Date(), new Date(), 0L, 0L, 0L, 0L);
 
-        TodoSectionProjection section2 = mock(TodoSectionProjection.class);
-        given(section2.getTitle()).willReturn("section2");
-
-        given(sectionService.findSections(anyLong()))
+        given(sectionService.findSections(anyLong(), anyInt(), anyInt(), anyString()))
                 .willReturn(List.of(section1, section2));
 
         mvc.perform(get(API_SECTIONS)
@@ -59,16 +60,54 @@ public class TodoSectionControllerTest extends AbstractControllerTestClass {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("_embedded.sections[0].title", is("section1")))
                 .andExpect(jsonPath("_embedded.sections[1].title", is("section2")))
+                .andExpect(jsonPath("_embedded.sections[0].taskCount", is(2)))
+                .andExpect(jsonPath("_embedded.sections[0].completedCount", is(1)))
+                .andExpect(jsonPath("_embedded.sections[0].overdueCount", is(1)))
+                .andExpect(jsonPath("_embedded.sections[0]._links.self.href", endsWith("/api/sections/1")))
                 .andDo(print());
 
-        verify(sectionService, times(1)).findSections(anyLong());
+        verify(sectionService, times(1)).findSections(anyLong(), anyInt(), anyInt(), anyString());
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void getSections_NotModified_ShouldNotLoadSections() throws Exception {
+        given(sectionService.findSections(anyLong(), anyInt(), anyInt(), anyString()))
+                .willReturn(Collections.emptyList());
+
+        String eTag = mvc.perform(get(API_SECTIONS))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get(API_SECTIONS).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        verify(sectionService, times(1)).findSections(anyLong(), anyInt(), anyInt(), anyString());
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void getSections_WithPage_ShouldPassPageToService() throws Exception {
+        given(sectionService.findSections(anyLong(), anyInt(), anyInt(), anyString()))
+                .willReturn(Collections.emptyList());
+
+        mvc.perform(get(API_SECTIONS)
+                .param("page", "2")
+                .param("size", "5")
+                .param("sort", "title,asc")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.self.href", containsString("page=2")));
+
+        verify(sectionService, times(1)).findSections(anyLong(), eq(2), eq(5), eq("title,asc"));
     }
 
     @Ignore
     @Test
     @WithUserDetails(ADMIN)
     public void getSections_ShouldReturnEmptyList() throws Exception {
-        given(sectionService.findSections(anyLong()))
+        given(sectionService.findSections(anyLong(), anyInt(), anyInt(), anyString()))
                 .willReturn(Collections.emptyList());
 
         mvc.perform(get(API_SECTIONS)
@@ -77,7 +116,7 @@ public class TodoSectionControllerTest extends AbstractControllerTestClass {
                 .andExpect(jsonPath("_embedded.sections.isEmpty()", is(true)))
                 .andDo(print());
 
-        verify(sectionService, times(1)).findSections(anyLong());
+        verify(sectionService, times(1)).findSections(anyLong(), anyInt(), anyInt(), anyString());
     }
 
     // get section by ID
@@ -258,8 +297,7 @@ public class TodoSectionControllerTest extends AbstractControllerTestClass {
     @Test
     @WithUserDetails(USER)
     public void addOrRemoveTasks_ShouldReturnOk() throws Exception {
-        doNothing().when(tasksFacade)
-                .addTasksToOrRemoveFromSection(anyLong(), anyLong(), anySet(), any());
+        given(tasksFacade.addTasksToOrRemoveFromSection(anyLong(), anyLong(), anySet(), any())).willReturn(2);
 
         Map<String, Integer[]> body = new WeakHashMap<>();
         body.put("tasks", new Integer[]{1, 2});
@@ -269,6 +307,7 @@ public class TodoSectionControllerTest extends AbstractControllerTestClass {
                 .param("do", "move")
                 .content(objectMapper.writeValueAsString(body)))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("updated", is(2)))
                 .andDo(print());
 
         verify(tasksFacade, times(1))
@@ -278,9 +317,6 @@ public class TodoSectionControllerTest extends AbstractControllerTestClass {
     @Test
     @WithUserDetails(USER)
     public void addOrRemoveTasks_EmptyBody_ShouldReturnBadRequest() throws Exception {
-        doNothing().when(tasksFacade)
-                .addTasksToOrRemoveFromSection(anyLong(), anyLong(), anySet(), any());
-
         mvc.perform(post(API_SECTIONS + "1/tasks")
                 .contentType(MediaType.APPLICATION_JSON)
                 .param("do", "move"))
@@ -294,9 +330,6 @@ public class TodoSectionControllerTest extends AbstractControllerTestClass {
     @Test
     @WithUserDetails(USER)
     public void addOrRemoveTasks_NoParam_ShouldReturnBadRequest() throws Exception {
-        doNothing().when(tasksFacade)
-                .addTasksToOrRemoveFromSection(anyLong(), anyLong(), anySet(), any());
-
         Map<String, Integer[]> body = new WeakHashMap<>();
         body.put("tasks", new Integer[]{1, 2});
 
@@ -10,28 +10,57 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.example.todo.controller.wrapper.TaskOperationsWrapper;
+import ru.example.todo.domain.TaskChange;
+import ru.example.todo.domain.TaskFilter;
+import ru.example.todo.domain.TaskOperationResult;
+import ru.example.todo.dto.TaskOperationDto;
 import ru.example.todo.dto.TodoSectionDto;
 import ru.example.todo.dto.TodoTaskDto;
 import ru.example.todo.entity.TodoTask;
 import ru.example.todo.entity.User;
+import ru.example.todo.enums.BatchOperation;
 import ru.example.todo.enums.filters.FilterByDate;
 import ru.example.todo.exception.CustomException;
 import ru.example.todo.service.TodoTaskService;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.containsStringIgnoringCase;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class TodoTaskControllerTest extends AbstractControllerTestClass {
 
+    private static final TaskChange TASK = new TaskChange(1L, "Read a book", false, true,
+            LocalDate.of(2021, 7, 5), 3L, Date.from(Instant.parse("2021-06-20T10:00:00Z")),
+            Date.from(Instant.parse("2021-06-21T10:00:00Z")));
+    private static final TaskChange OTHER_TASK = new TaskChange(2L, "Call \"Bob\", then Alice", true, false,
+            null, null, Date.from(Instant.parse("2021-06-20T10:00:00Z")),
+            Date.from(Instant.parse("2021-06-21T10:00:00Z")));
+
     @MockBean
     private TodoTaskService taskService;
 
@@ -39,7 +68,7 @@ public class TodoTaskControllerTest extends AbstractControllerTestClass {
     @WithUserDetails(ADMIN)
     public void getTasks_ShouldReturnListOfTasks() throws Exception {
         given(taskService.findTasks(anyLong(), anyInt(), anyInt(),
-                any(FilterByDate.class), anyString())).willReturn(List.of(
+                any(TaskFilter.class), anyString())).willReturn(List.of(
                 new TodoTask("task1", LocalDate.now()),
                 new TodoTask("task2", LocalDate.now())));
 
@@ -51,7 +80,93 @@ public class TodoTaskControllerTest extends AbstractControllerTestClass {
                 .andExpect(status().isOk());
 
         verify(taskService, times(1)).findTasks(anyLong(), anyInt(), anyInt(),
-                any(FilterByDate.class), anyString());
+                any(TaskFilter.class), anyString());
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void getTasks_NotModified_ShouldNotLoadTasks() throws Exception {
+        given(taskService.findTasks(anyLong(), anyInt(), anyInt(),
+                any(TaskFilter.class), anyString())).willReturn(List.of());
+
+        String eTag = mvc.perform(get(API_TASKS + "?starred=true"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get(API_TASKS + "?starred=true").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+
+        // another query, another body; the ETag is keyed on the query string, which .param() leaves empty
+        mvc.perform(get(API_TASKS + "?starred=false").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+
+        verify(taskService, times(2)).findTasks(anyLong(), anyInt(), anyInt(),
+                any(TaskFilter.class), anyString());
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void getTasks_WithFilters_ShouldPassFilterToService() throws Exception {
+        given(taskService.findTasks(anyLong(), anyInt(), anyInt(),
+                any(TaskFilter.class), anyString())).willReturn(List.of());
+
+        mvc.perform(get(API_TASKS)
+                .param("completed", "false")
+                .param("starred", "true")
+                .param("from", "2021-01-01")
+                .param("to", "2021-01-31")
+                .param("section", "3")
+                .param("title", "Read")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.self.href", containsString("title=Read")));
+
+        verify(taskService, times(1)).findTasks(anyLong(), anyInt(), anyInt(), argThat(filter ->
+                filter.getDate() == FilterByDate.ALL
+                        && Boolean.FALSE.equals(filter.getCompleted())
+                        && Boolean.TRUE.equals(filter.getStarred())
+                        && LocalDate.of(2021, 1, 1).equals(filter.getFrom())
+                        && LocalDate.of(2021, 1, 31).equals(filter.getTo())
+                        && Long.valueOf(3L).equals(filter.getSectionId())
+                        && "Read".equals(filter.getTitlePrefix())), anyString());
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void getTasks_WithCursor_ShouldReturnNextLink() throws Exception {
+        given(taskService.findTasksAfter(anyLong(), anyString(), anyInt(),
+                any(TaskFilter.class), anyString())).willReturn(List.of(
+                new TodoTask("task3", LocalDate.now())));
+        given(taskService.getNextCursor(anyList(), anyInt(), anyString())).willReturn("nextCursor");
+
+        mvc.perform(get(API_TASKS)
+                .param("after", "someCursor")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(jsonPath("_embedded.tasks[0].title", is("task3")))
+                .andExpect(jsonPath("_links.next.href", containsString("after=nextCursor")))
+                .andExpect(status().isOk());
+
+        verify(taskService, times(1)).findTasksAfter(anyLong(), anyString(), anyInt(),
+                any(TaskFilter.class), anyString());
+        verify(taskService, times(0)).findTasks(anyLong(), anyInt(), anyInt(),
+                any(TaskFilter.class), anyString());
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void getTasks_InvalidCursor_ShouldReturnBadRequest() throws Exception {
+        given(taskService.findTasksAfter(anyLong(), anyString(), anyInt(),
+                any(TaskFilter.class), anyString()))
+                .willThrow(new CustomException("Invalid cursor", HttpStatus.BAD_REQUEST));
+
+        mvc.perform(get(API_TASKS)
+                .param("after", "someCursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message", containsStringIgnoringCase("invalid cursor")));
     }
 
     @Test
@@ -166,4 +281,134 @@ public class TodoTaskControllerTest extends AbstractControllerTestClass {
 
     }
 
+    @Test
+    @WithUserDetails(USER)
+    public void applyOperations_ShouldReturnResults() throws Exception {
+        given(taskService.applyOperations(any(User.class), anyList())).willReturn(List.of(
+                TaskOperationResult.success(0, BatchOperation.CREATE, 100L, HttpStatus.CREATED),
+                TaskOperationResult.failure(1, BatchOperation.DELETE, 7L, HttpStatus.NOT_FOUND, "Task not found: 7")));
+
+        TaskOperationsWrapper wrapper = new TaskOperationsWrapper();
+        wrapper.operations = List.of(
+                new TaskOperationDto(BatchOperation.CREATE, null, new TodoTaskDto("New task")),
+                new TaskOperationDto(BatchOperation.DELETE, 7L, null));
+
+        mvc.perform(post(API_TASKS + "batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(wrapper)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].id", is(100)))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].message", is("Task not found: 7")));
+
+        verify(taskService, times(1)).applyOperations(any(User.class), argThat(operations ->
+                operations.size() == 2 && operations.get(0).getTask().getTitle().equals("New task")
+                        && operations.get(1).getTask() == null));
+    }
+
+    @Test
+    @WithUserDetails(USER)
+    public void applyOperations_Empty_ShouldReturnBadRequest() throws Exception {
+        TaskOperationsWrapper wrapper = new TaskOperationsWrapper();
+        wrapper.operations = Collections.emptyList();
+
+        mvc.perform(post(API_TASKS + "batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(wrapper)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void exportTasks_ShouldStreamTaskPerLine() throws Exception {
+        exportTasks(TASK, OTHER_TASK);
+
+        MvcResult result = mvc.perform(get(API_TASKS + "export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("tasks.ndjson")))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertEquals("Read a book", objectMapper.readTree(lines[0]).get("title").asText());
+        assertEquals(3, objectMapper.readTree(lines[0]).get("sectionId").asInt());
+        assertEquals("2021-06-21T10:00:00Z", objectMapper.readTree(lines[0]).get("updatedAt").asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("sectionId").isNull());
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void exportTasks_Csv_ShouldQuoteTitles() throws Exception {
+        exportTasks(TASK, OTHER_TASK);
+
+        MvcResult result = mvc.perform(get(API_TASKS + "export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("id,title,completed,starred,completionDate,sectionId,createdAt,updatedAt\r\n" +
+                "1,Read a book,false,true,2021-07-05,3,2021-06-20T10:00:00Z,2021-06-21T10:00:00Z\r\n" +
+                "2,\"Call \"\"Bob\"\", then Alice\",true,false,,,2021-06-20T10:00:00Z,2021-06-21T10:00:00Z\r\n", body);
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void exportTasks_AcceptGzip_ShouldCompress() throws Exception {
+        exportTasks(TASK);
+
+        MvcResult result = mvc.perform(get(API_TASKS + "export").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String line = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(1L, objectMapper.readTree(line).get("id").asLong());
+        }
+    }
+
+    @Test
+    @WithUserDetails(ADMIN)
+    public void exportTasks_GzipRefused_ShouldNotCompress() throws Exception {
+        exportTasks(TASK);
+
+        for (String acceptEncoding : List.of("gzip;q=0, deflate", "x-gzip-foo", "*;q=1, gzip;q=0")) {
+            MvcResult result = mvc.perform(get(API_TASKS + "export").header("Accept-Encoding", acceptEncoding))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"));
+        }
+    }
+
+    private void exportTasks(TaskChange... tasks) {
+        doAnswer(invocation -> {
+            Consumer<TaskChange> action = invocation.getArgument(1);
+            Arrays.stream(tasks).forEach(action);
+            return null;
+        }).when(taskService).forEachTask(anyLong(), any());
+    }
+
 }
@@ -0,0 +1,103 @@
+package ru.example.todo.controller.assembler;
+/*
+ * Date: 10/18/26
+ * Time: 8:20 PM
+ * */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.example.todo.controller.TodoSectionController;
+import ru.example.todo.controller.TodoTaskController;
+import ru.example.todo.domain.TodoSectionProjection;
+import ru.example.todo.entity.TodoSection;
+import ru.example.todo.entity.TodoTask;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// the cached links must match the ones linkTo builds
+public class TodoTaskModelAssemblerTest {
+
+    private final TodoTaskModelAssembler taskAssembler = new TodoTaskModelAssembler();
+    private final TodoSectionModelAssembler sectionAssembler = new TodoSectionModelAssembler();
+
+    @Before
+    public void setUp() {
+        request("http", "localhost", 80);
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void toModel_ShouldBuildSameLinksAsLinkTo() {
+        assertTaskLinks(task(1L));
+        assertTaskLinks(task(25L));
+    }
+
+    @Test
+    public void toModel_ShouldUseBaseUriOfEachRequest() {
+        assertTaskLinks(task(1L));
+
+        request("https", "todo.example.ru", 8443);
+        assertTaskLinks(task(2L));
+    }
+
+    @Test
+    public void toModel_Section_ShouldBuildSameLinksAsLinkTo() {
+        Link self = linkTo(methodOn(TodoSectionController.class).getSection(null, 3L)).withSelfRel();
+        Link sections = linkTo(methodOn(TodoSectionController.class)
+                .getSections(null, null, null, null, null)).withRel("sections");
+
+        EntityModel<TodoSection> model = sectionAssembler.toModel(new TodoSection(3L, "Later"));
+        assertLink(self, model.getRequiredLink(IanaLinkRelations.SELF));
+        assertLink(sections, model.getRequiredLink("sections"));
+
+        EntityModel<TodoSectionProjection> projection = sectionAssembler.toModel(new TodoSectionProjection(3L, "Later"));
+        assertLink(self, projection.getRequiredLink(IanaLinkRelations.SELF));
+        assertLink(sections, projection.getRequiredLink("sections"));
+    }
+
+    private void assertTaskLinks(TodoTask task) {
+        Link self = linkTo(methodOn(TodoTaskController.class).getTask(null, task.getId())).withSelfRel();
+        Link tasks = linkTo(methodOn(TodoTaskController.class)
+                .getTasks(null, null, null, null, null, null,
+                        null, null, null, null, null, null, null)).withRel("tasks");
+
+        EntityModel<TodoTask> model = taskAssembler.toModel(task);
+        assertLink(self, model.getRequiredLink(IanaLinkRelations.SELF));
+        assertLink(tasks, model.getRequiredLink("tasks"));
+    }
+
+    private static void assertLink(Link expected, Link actual) {
+        assertEquals(expected.getHref(), actual.getHref());
+        assertEquals(expected.getRel(), actual.getRel());
+        assertEquals(expected.isTemplated(), actual.isTemplated());
+    }
+
+    private static TodoTask task(Long id) {
+        TodoTask task = new TodoTask("Make a call");
+        ReflectionTestUtils.setField(task, "id", id);
+        return task;
+    }
+
+    private static void request(String scheme, String host, int port) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setScheme(scheme);
+        request.setServerName(host);
+        request.setServerPort(port);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+}
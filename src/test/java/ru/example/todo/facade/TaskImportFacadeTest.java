@@ -0,0 +1,154 @@
+package ru.example.todo.facade;
+/*
+ * Date: 10/19/26
+ * Time: 1:15 AM
+ * */
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.example.todo.config.properties.ImportProperties;
+import ru.example.todo.entity.ImportJob;
+import ru.example.todo.enums.DataFormat;
+import ru.example.todo.enums.ImportStatus;
+import ru.example.todo.exception.CustomException;
+import ru.example.todo.exception.ServiceUnavailableException;
+import ru.example.todo.facade.impl.TaskImportFacadeImpl;
+import ru.example.todo.scheduling.TaskImportRunner;
+import ru.example.todo.service.TaskImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TaskImportFacadeTest {
+
+    private static final String CSV = "title\nRead a book\nBuy milk\n";
+
+    @Mock
+    private TaskImportService taskImportService;
+
+    @Mock
+    private TaskImportRunner taskImportRunner;
+
+    private TaskImportFacade taskImportFacade;
+
+    @Before
+    public void setUp() {
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setMaxSize(CSV.length());
+        taskImportFacade = new TaskImportFacadeImpl(taskImportService, taskImportRunner, importProperties);
+    }
+
+    @Test
+    public void submitImport_ShouldStoreUploadAndStartJob() throws IOException {
+        given(taskImportService.createJob(2L)).willReturn(job());
+
+        ImportJob job = taskImportFacade.submitImport(2L, DataFormat.CSV, upload(CSV.getBytes(StandardCharsets.UTF_8)), false);
+
+        assertEquals(7L, (long) job.getId());
+        assertEquals(CSV, readStoredUpload());
+    }
+
+    @Test
+    public void submitImport_Gzip_ShouldStoreDecompressedUpload() throws IOException {
+        given(taskImportService.createJob(2L)).willReturn(job());
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(CSV.getBytes(StandardCharsets.UTF_8));
+        }
+        taskImportFacade.submitImport(2L, DataFormat.CSV, upload(compressed.toByteArray()), true);
+
+        assertEquals(CSV, readStoredUpload());
+    }
+
+    @Test
+    public void submitImport_TooLarge_ShouldFailJob() {
+        given(taskImportService.createJob(2L)).willReturn(job());
+        byte[] body = (CSV + "Make a call\n").getBytes(StandardCharsets.UTF_8);
+
+        CustomException ex = assertThrows(CustomException.class,
+                () -> taskImportFacade.submitImport(2L, DataFormat.CSV, upload(body), false));
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, ex.getHttpStatus());
+        verify(taskImportService).updateStatus(eq(7L), eq(ImportStatus.FAILED), anyString());
+        verifyNoInteractions(taskImportRunner);
+    }
+
+    @Test
+    public void submitImport_Empty_ShouldFailJob() {
+        given(taskImportService.createJob(2L)).willReturn(job());
+
+        CustomException ex = assertThrows(CustomException.class,
+                () -> taskImportFacade.submitImport(2L, DataFormat.CSV, upload(new byte[0]), false));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+        verify(taskImportService).updateStatus(7L, ImportStatus.FAILED, "The upload is empty");
+        verifyNoInteractions(taskImportRunner);
+    }
+
+    @Test
+    public void submitImport_AlreadyImporting_ShouldNotReadUpload() {
+        given(taskImportService.createJob(2L))
+                .willThrow(new CustomException("An import is already in progress", HttpStatus.TOO_MANY_REQUESTS));
+        ByteArrayInputStream body = upload(CSV.getBytes(StandardCharsets.UTF_8));
+
+        CustomException ex = assertThrows(CustomException.class,
+                () -> taskImportFacade.submitImport(2L, DataFormat.CSV, body, false));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getHttpStatus());
+        assertEquals(CSV.length(), body.available());
+        verifyNoInteractions(taskImportRunner);
+    }
+
+    @Test
+    public void submitImport_ExecutorFull_ShouldFailJob() {
+        given(taskImportService.createJob(2L)).willReturn(job());
+        doThrow(new TaskRejectedException("full")).when(taskImportRunner)
+                .run(anyLong(), anyLong(), any(DataFormat.class), any(Path.class));
+
+        assertThrows(ServiceUnavailableException.class, () -> taskImportFacade
+                .submitImport(2L, DataFormat.CSV, upload(CSV.getBytes(StandardCharsets.UTF_8)), false));
+
+        verify(taskImportService).updateStatus(eq(7L), eq(ImportStatus.FAILED), anyString());
+    }
+
+    private static ImportJob job() {
+        ImportJob job = new ImportJob(2L);
+        ReflectionTestUtils.setField(job, "id", 7L);
+        return job;
+    }
+
+    private static ByteArrayInputStream upload(byte[] body) {
+        return new ByteArrayInputStream(body);
+    }
+
+    // the runner is a mock, the file is left for the test to check
+    private String readStoredUpload() throws IOException {
+        ArgumentCaptor<Path> file = ArgumentCaptor.forClass(Path.class);
+        verify(taskImportRunner).run(eq(7L), eq(2L), eq(DataFormat.CSV), file.capture());
+        try {
+            return Files.readString(file.getValue(), StandardCharsets.UTF_8);
+        } finally {
+            Files.deleteIfExists(file.getValue());
+        }
+    }
+
+}
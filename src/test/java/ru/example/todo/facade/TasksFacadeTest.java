@@ -9,7 +9,6 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
-import ru.example.todo.entity.TodoTask;
 import ru.example.todo.enums.filters.FilterByOperation;
 import ru.example.todo.exception.CustomException;
 import ru.example.todo.facade.impl.TasksFacadeImpl;
@@ -17,9 +16,9 @@ import ru.example.todo.service.TodoSectionService;
 import ru.example.todo.service.TodoTaskService;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Set;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
@@ -39,16 +38,24 @@ public class TasksFacadeTest {
 
     @Test
     public void addTasksToOrRemoveFromSection_ShouldCallServiceMethods() {
-        TodoTask task1 = mock(TodoTask.class);
-        TodoTask task2 = mock(TodoTask.class);
+        given(sectionService.existsSection(1L, 1L)).willReturn(true);
+        given(taskService.updateTasksSection(anyLong(), anyLong(), anySet(), any())).willReturn(2);
 
-        given(taskService.findTasksByIds(anySet(), anyLong())).willReturn(List.of(task1, task2));
-        doNothing().when(sectionService).addTasksToOrRemoveFromSection(anyLong(), anyLong(), anyList(), any());
+        int updated = tasksFacade.addTasksToOrRemoveFromSection(1L, 1L, Set.of(1L, 2L), FilterByOperation.MOVE);
 
-        tasksFacade.addTasksToOrRemoveFromSection(1L, 1L, Set.of(1L, 2L), FilterByOperation.MOVE);
+        assertEquals(2, updated);
+        verify(sectionService).existsSection(1L, 1L);
+        verify(taskService).updateTasksSection(1L, 1L, Set.of(1L, 2L), FilterByOperation.MOVE);
+    }
+
+    @Test
+    public void addTasksToOrRemoveFromSection_SectionNotFound_ShouldThrowCustomException() {
+        given(sectionService.existsSection(1L, 1L)).willReturn(false);
 
-        verify(taskService).findTasksByIds(anySet(), anyLong());
-        verify(sectionService).addTasksToOrRemoveFromSection(anyLong(), anyLong(), anyList(), any());
+        assertThrows(CustomException.class, () -> tasksFacade
+                .addTasksToOrRemoveFromSection(1L, 1L, Set.of(1L, 2L), FilterByOperation.MOVE));
+
+        verifyNoInteractions(taskService);
     }
 
     @Test
@@ -10,6 +10,7 @@ import org.modelmapper.ModelMapper;
 import ru.example.todo.dto.TodoSectionDto;
 import ru.example.todo.entity.TodoSection;
 import ru.example.todo.entity.TodoTask;
+import ru.example.todo.util.mappers.TodoSectionMapper;
 
 import java.time.LocalDate;
 
@@ -58,4 +59,12 @@ public class TodoSectionTest {
         assertEquals("Important", todoSection.getTitle());
     }
 
+    @Test
+    public void toEntity_ShouldMapTitle() {
+        TodoSection todoSection = TodoSectionMapper.toEntity(new TodoSectionDto("Important"));
+
+        assertNull(todoSection.getId());
+        assertEquals("Important", todoSection.getTitle());
+    }
+
 }
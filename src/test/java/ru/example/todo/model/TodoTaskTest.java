@@ -9,11 +9,14 @@ import org.junit.Test;
 import org.modelmapper.ModelMapper;
 import ru.example.todo.dto.TodoTaskDto;
 import ru.example.todo.entity.TodoTask;
+import ru.example.todo.util.mappers.TodoTaskMapper;
 
 import java.time.LocalDate;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class TodoTaskTest {
 
@@ -47,4 +50,35 @@ public class TodoTaskTest {
         assertEquals("title", task.getTitle());
     }
 
+    @Test
+    public void toEntity_ShouldCopyAllFields() {
+        TodoTaskDto todoTaskDto = new TodoTaskDto("title", LocalDate.of(2021, 5, 5), true, true);
+        TodoTask todoTask = TodoTaskMapper.toEntity(todoTaskDto);
+
+        assertEquals("title", todoTask.getTitle());
+        assertEquals(LocalDate.of(2021, 5, 5), todoTask.getCompletionDate());
+        assertTrue(todoTask.isCompleted());
+        assertTrue(todoTask.isStarred());
+    }
+
+    @Test
+    public void copy_ShouldSkipNullFields() {
+        TodoTask task = new TodoTask("title", LocalDate.of(2021, 5, 5));
+        task.setStarred(true);
+
+        TodoTaskDto todoTaskDto = new TodoTaskDto();
+        todoTaskDto.setCompletionDate(null);
+        TodoTaskMapper.copy(todoTaskDto, task);
+
+        TodoTask mapped = new TodoTask("title", LocalDate.of(2021, 5, 5));
+        mapped.setStarred(true);
+        modelMapper.map(todoTaskDto, mapped);
+
+        // same result as the skip-null ModelMapper
+        assertEquals(mapped.getTitle(), task.getTitle());
+        assertEquals(mapped.getCompletionDate(), task.getCompletionDate());
+        assertEquals(mapped.isStarred(), task.isStarred());
+        assertFalse(task.isStarred());
+    }
+
 }
@@ -5,11 +5,14 @@ package ru.example.todo.model;
  * */
 
 import org.junit.Test;
+import ru.example.todo.dto.UserDto;
 import ru.example.todo.entity.User;
 import ru.example.todo.enums.Role;
+import ru.example.todo.util.mappers.UserMapper;
 
 import java.util.Set;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -39,4 +42,14 @@ public class UserTest {
         assertFalse(user.getRoles().stream()
                 .anyMatch(role -> role.equals(Role.USER) || role.equals(Role.ADMIN)));
     }
+
+    @Test
+    public void toEntity_ShouldMapCredentialsWithRoleUser() {
+        User user = UserMapper.toEntity(new UserDto("client@mail.com", "password"));
+
+        assertEquals("client@mail.com", user.getUsername());
+        assertEquals("password", user.getPassword());
+        assertEquals(Set.of(Role.USER), user.getRoles());
+    }
+
 }
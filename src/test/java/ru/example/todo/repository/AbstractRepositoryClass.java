@@ -4,6 +4,8 @@ package ru.example.todo.repository;
  * Time: 9:17 PM
  * */
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -37,4 +39,13 @@ abstract class AbstractRepositoryTestClass {
         return entityManager.persistAndFlush(user);
     }
 
+    // the hibernate statistics, reset to count the statements of a test from this point
+    Statistics clearStatistics() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
 }
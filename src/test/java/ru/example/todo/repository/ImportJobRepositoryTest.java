@@ -0,0 +1,98 @@
+package ru.example.todo.repository;
+/*
+ * Date: 10/19/26
+ * Time: 1:40 AM
+ * */
+
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.example.todo.entity.ImportError;
+import ru.example.todo.entity.ImportJob;
+import ru.example.todo.enums.ImportStatus;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ImportJobRepositoryTest extends AbstractRepositoryTestClass {
+
+    @Autowired
+    private ImportJobRepository repository;
+
+    @Test
+    public void findByIdAndUserId_ShouldFetchErrorsInOneQuery() {
+        ImportJob job = new ImportJob(ADMIN_ID);
+        job.addProgress(3, 1, List.of(new ImportError(3, "title: must not be empty"),
+                new ImportError(2, "Malformed JSON")), 100);
+        Long jobId = entityManager.persistAndFlush(job).getId();
+        entityManager.clear();
+
+        Statistics statistics = clearStatistics();
+        ImportJob found = repository.findByIdAndUserId(jobId, ADMIN_ID).orElse(null);
+
+        assertNotNull(found);
+        assertEquals(3, found.getProcessed());
+        assertEquals(2, found.getFailed());
+        assertEquals(List.of(2, 3), found.getErrors().stream().map(ImportError::getLine).collect(Collectors.toList()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findByIdAndUserId_OtherUser_ShouldReturnEmpty() {
+        Long jobId = entityManager.persistAndFlush(new ImportJob(ADMIN_ID)).getId();
+
+        assertTrue(repository.findByIdAndUserId(jobId, USER_ID).isEmpty());
+    }
+
+    @Test
+    public void existsByUserIdAndStatusInAndUpdatedAtAfter_ShouldFindJobsInProgressOnly() {
+        ImportJob done = new ImportJob(ADMIN_ID);
+        done.setStatus(ImportStatus.DONE);
+        entityManager.persistAndFlush(done);
+        entityManager.persistAndFlush(new ImportJob(USER_ID));
+
+        EnumSet<ImportStatus> inProgress = EnumSet.of(ImportStatus.QUEUED, ImportStatus.RUNNING);
+        Date hourAgo = new Date(System.currentTimeMillis() - 3_600_000);
+
+        assertFalse(repository.existsByUserIdAndStatusInAndUpdatedAtAfter(ADMIN_ID, inProgress, hourAgo));
+        assertTrue(repository.existsByUserIdAndStatusInAndUpdatedAtAfter(USER_ID, inProgress, hourAgo));
+        // the queued job is stale by then
+        assertFalse(repository.existsByUserIdAndStatusInAndUpdatedAtAfter(USER_ID, inProgress,
+                new Date(System.currentTimeMillis() + 1000)));
+    }
+
+    @Test
+    public void addProgress_ShouldInsertNewErrorsOnly() {
+        ImportJob job = new ImportJob(ADMIN_ID);
+        job.addProgress(2, 0, List.of(new ImportError(1, "a"), new ImportError(2, "b")), 100);
+        Long jobId = entityManager.persistAndFlush(job).getId();
+        entityManager.clear();
+
+        Statistics statistics = clearStatistics();
+        ImportJob found = entityManager.find(ImportJob.class, jobId);
+        found.addProgress(1, 0, List.of(new ImportError(3, "c")), 100);
+        entityManager.flush();
+        entityManager.clear();
+
+        // the job, its errors, the job update and the one new error, no delete and reinsert of the others
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(List.of(1, 2, 3), repository.findByIdAndUserId(jobId, ADMIN_ID).orElseThrow()
+                .getErrors().stream().map(ImportError::getLine).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void addProgress_ShouldKeepFirstErrorsOnly() {
+        ImportJob job = new ImportJob(ADMIN_ID);
+        job.addProgress(2, 0, List.of(new ImportError(1, "a"), new ImportError(2, "b")), 1);
+        job.addProgress(1, 0, List.of(new ImportError(3, "c")), 1);
+
+        assertEquals(3, job.getFailed());
+        assertEquals(1, job.getErrors().size());
+        assertEquals(1, job.getErrors().iterator().next().getLine());
+    }
+
+}
@@ -0,0 +1,48 @@
+package ru.example.todo.repository;
+/*
+ * Date: 10/18/26
+ * Time: 5:40 PM
+ * */
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.example.todo.entity.RefreshToken;
+import ru.example.todo.util.Sha256;
+
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class RefreshTokenRepositoryTest extends AbstractRepositoryTestClass {
+
+    @Autowired
+    private RefreshTokenRepository repository;
+
+    @Test
+    public void findByTokenHash_ShouldReturnToken() {
+        entityManager.persistAndFlush(refreshToken("token", ADMIN_ID, 60_000));
+
+        assertTrue(repository.findByTokenHash(Sha256.hex("token")).isPresent());
+        assertFalse(repository.findByTokenHash(Sha256.hex("another")).isPresent());
+    }
+
+    @Test
+    public void deleteExpired_ShouldDeleteAtMostLimitExpiredTokens() {
+        entityManager.persist(refreshToken("expired1", ADMIN_ID, -60_000));
+        entityManager.persist(refreshToken("expired2", USER_ID, -60_000));
+        entityManager.persist(refreshToken("expired3", 3L, -60_000));
+        entityManager.persistAndFlush(refreshToken("valid", 4L, 60_000));
+
+        assertEquals(2, repository.deleteExpired(new Date(), 2));
+        assertEquals(1, repository.deleteExpired(new Date(), 2));
+        assertEquals(0, repository.deleteExpired(new Date(), 2));
+
+        assertEquals(1, repository.count());
+        assertTrue(repository.findByTokenHash(Sha256.hex("valid")).isPresent());
+    }
+
+    private static RefreshToken refreshToken(String value, Long userId, long validity) {
+        return new RefreshToken(Sha256.hex(value), userId, new Date(System.currentTimeMillis() + validity));
+    }
+
+}
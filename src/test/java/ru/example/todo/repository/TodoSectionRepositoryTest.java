@@ -4,13 +4,22 @@ package ru.example.todo.repository;
  * Time: 7:24 PM
  * */
 
+import org.hibernate.Hibernate;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.example.todo.domain.TodoSectionProjection;
 import ru.example.todo.entity.TodoSection;
+import ru.example.todo.entity.TodoTask;
 
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -19,6 +28,26 @@ public class TodoSectionRepositoryTest extends AbstractRepositoryTestClass{
     @Autowired
     private TodoSectionRepository repository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void save_WithUserReference_ShouldIssueOneInsert() {
+        Statistics statistics = clearStatistics();
+
+        TodoSection section = new TodoSection();
+        section.setTitle("New section");
+        section.setUser(userRepository.getOne(ADMIN_ID));
+        repository.save(section);
+        entityManager.flush();
+
+        assertNotNull(section.getId());
+        assertFalse(Hibernate.isInitialized(section.getUser()));
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
     @Test
     public void deleteByIdAndUserId_ShouldDeleteSectionByIdAndUserId() {
         TodoSection beforeDeleting = repository.findByUserIdAndId(ADMIN_ID, SECTIONS[0]).orElse(null);
@@ -46,6 +75,70 @@ public class TodoSectionRepositoryTest extends AbstractRepositoryTestClass{
         assertNull(s3);
     }
 
+    // query counts, the tasks must not be loaded one query per section
+    @Test
+    public void findWithTasksByUserIdAndId_ShouldFetchTasksInOneStatement() {
+        Statistics statistics = clearStatistics();
+
+        TodoSection section = repository.findWithTasksByUserIdAndId(ADMIN_ID, SECTIONS[2]).orElse(null);
+        assertNotNull(section);
+        assertEquals(1, section.getTodoTasks().size());
+        assertEquals("Write a letter", section.getTodoTasks().get(0).getTitle());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    public void findAllByUserId_ShouldFetchTasksInOneStatement() {
+        Statistics statistics = clearStatistics();
+
+        List<TodoSection> sections = repository.findAllByUserId(ADMIN_ID);
+        int tasks = sections.stream().mapToInt(section -> section.getTodoTasks().size()).sum();
+
+        assertEquals(4, sections.size());
+        assertEquals(3, tasks);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    public void findAllByUserIdProjection_ShouldCountTasksInOneStatement() {
+        Statistics statistics = clearStatistics();
+
+        Map<Long, Long> taskCounts = repository.findAllByUserIdProjection(ADMIN_ID, LocalDate.now(),
+                PageRequest.of(0, 10)).stream()
+                .collect(Collectors.toMap(TodoSectionProjection::getId, TodoSectionProjection::getTaskCount));
+
+        assertEquals(Map.of(1L, 1L, 3L, 1L, 4L, 1L, 5L, 0L), taskCounts);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void findAllByUserIdProjection_ShouldCountCompletedStarredAndOverdueTasks() {
+        // section 2 holds task 2: starred, open and due a week ago
+        List<TodoSectionProjection> sections = repository.findAllByUserIdProjection(USER_ID, LocalDate.now(),
+                PageRequest.of(0, 10));
+
+        assertEquals(1, sections.size());
+        TodoSectionProjection section = sections.get(0);
+        assertEquals(1L, (long) section.getTaskCount());
+        assertEquals(0L, (long) section.getCompletedCount());
+        assertEquals(1L, (long) section.getStarredCount());
+        assertEquals(1L, (long) section.getOverdueCount());
+    }
+
+    @Test
+    public void findAllByUserIdProjection_ShouldRespectPageAndSort() {
+        List<TodoSectionProjection> sections = repository.findAllByUserIdProjection(ADMIN_ID, LocalDate.now(),
+                PageRequest.of(1, 2, Sort.by("title").and(Sort.by("id"))));
+
+        // Another one, Important, Later, Special
+        assertEquals(List.of("Later", "Special"),
+                sections.stream().map(TodoSectionProjection::getTitle).collect(Collectors.toList()));
+    }
+
     @Test
     public void findAllByUserId_ShouldReturnListOfUserSections() {
         List<TodoSection> adminSections = repository.findAllByUserId(ADMIN_ID);
@@ -96,6 +189,38 @@ public class TodoSectionRepositoryTest extends AbstractRepositoryTestClass{
         assertEquals(0, sections.size());
     }
 
+    @Test
+    public void deleteSection_ShouldNotLoadTasks() {
+        final Long SECTION_ID = 3L; // contains task 3
+        Statistics statistics = clearStatistics();
+
+        assertEquals(1, repository.deleteSection(SECTION_ID, ADMIN_ID, false));
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertFalse(repository.existsById(SECTION_ID));
+        TodoTask task = entityManager.find(TodoTask.class, 3L);
+        assertNotNull(task);
+        assertNull(task.getTodoSection());
+    }
+
+    @Test
+    public void deleteSection_NotFound_ShouldReturnZero() {
+        assertEquals(0, repository.deleteSection(100L, ADMIN_ID, true));
+    }
+
+    @Test
+    public void deleteSection_AnotherUser_ShouldDeleteOnlyForAdmin() {
+        // section 2 belongs to the user 2
+        assertEquals(0, repository.deleteSection(SECTIONS[1], ADMIN_ID, false));
+        assertTrue(repository.existsById(SECTIONS[1]));
+
+        assertEquals(1, repository.deleteSection(SECTIONS[1], ADMIN_ID, true));
+        assertFalse(repository.existsById(SECTIONS[1]));
+    }
+
     @Test
     public void deleteById_ShouldDeleteSectionById() {
         final Long SECTION_ID = 3L;
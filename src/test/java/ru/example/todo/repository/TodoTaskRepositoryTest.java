@@ -4,12 +4,23 @@ package ru.example.todo.repository;
  * Time: 9:45 AM
  * */
 
+import org.hibernate.Hibernate;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.example.todo.domain.TaskChange;
+import ru.example.todo.domain.TaskCursor;
+import ru.example.todo.domain.TaskFilter;
 import ru.example.todo.entity.TodoTask;
 import ru.example.todo.exception.CustomException;
 
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -19,6 +30,9 @@ public class TodoTaskRepositoryTest extends AbstractRepositoryTestClass {
     @Autowired
     private TodoTaskRepository repository;
 
+    @Autowired
+    private UserRepository userRepository;
+
     // get all
     @Test
     public void findAll_ShouldReturnListOfTasks() {
@@ -26,6 +40,104 @@ public class TodoTaskRepositoryTest extends AbstractRepositoryTestClass {
         assertEquals(7, tasks.size());
     }
 
+    // the changes since a date, oldest first
+    @Test
+    public void streamChanges_ShouldReturnTasksUpdatedSinceDate() {
+        Date since = new Date(System.currentTimeMillis() - 24 * 60 * 60 * 1000);
+
+        List<TaskChange> changes;
+        try (Stream<TaskChange> stream = repository.streamChanges(ADMIN_ID, since)) {
+            changes = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(List.of(4L, 6L, 1L, 10L), changes.stream().map(TaskChange::getId).collect(Collectors.toList()));
+        assertNull(changes.get(0).getSectionId());
+        assertEquals(1L, (long) changes.get(2).getSectionId());
+        assertEquals("Read a book", changes.get(2).getTitle());
+    }
+
+    // all the user's tasks for the export, oldest first
+    @Test
+    public void streamAllByUserId_ShouldReturnAllUserTasks() {
+        List<TaskChange> tasks;
+        try (Stream<TaskChange> stream = repository.streamAllByUserId(ADMIN_ID)) {
+            tasks = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(List.of(3L, 1L, 4L, 6L, 10L), tasks.stream().map(TaskChange::getId).collect(Collectors.toList()));
+        assertEquals(3L, (long) tasks.get(0).getSectionId());
+        assertNull(tasks.get(2).getSectionId());
+    }
+
+    // seek after the cursor
+    @Test
+    public void findAllByUserIdAfterCursor_ShouldReturnNextTasks() {
+        TodoTask last = repository.findById(6L).orElse(null);
+        assertNotNull(last);
+
+        TaskCursor cursor = TaskCursor.of("createdAt", last);
+        List<TodoTask> tasks = repository.findAllByUserIdAfterCursor(ADMIN_ID, TaskFilter.ALL,
+                cursor, Sort.Direction.DESC, 10);
+
+        // tasks 1, 4, 6 and 10 share the creation time, so the id breaks the tie
+        assertEquals(List.of(4L, 1L, 3L), tasks.stream().map(TodoTask::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void findAllByUserIdAfterCursor_Ascending_ShouldRespectLimit() {
+        TodoTask first = repository.findById(3L).orElse(null);
+        assertNotNull(first);
+
+        TaskCursor cursor = TaskCursor.of("createdAt", first);
+        List<TodoTask> tasks = repository.findAllByUserIdAfterCursor(ADMIN_ID, TaskFilter.ALL,
+                cursor, Sort.Direction.ASC, 2);
+
+        assertEquals(List.of(1L, 4L), tasks.stream().map(TodoTask::getId).collect(Collectors.toList()));
+    }
+
+    // filter
+    @Test
+    public void findAllByFilter_TitlePrefix_ShouldReturnMatchingTasks() {
+        TaskFilter filter = new TaskFilter.Builder().titlePrefix("Section").build();
+        List<TodoTask> tasks = repository.findAllByFilter(ADMIN_ID, filter, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(List.of(4L), tasks.stream().map(TodoTask::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void findAllByFilter_SectionAndDateRange_ShouldCombineConditions() {
+        TaskFilter filter = new TaskFilter.Builder()
+                .sectionId(4L)
+                .from(LocalDate.now().plusDays(1))
+                .completed(false)
+                .build();
+        List<TodoTask> tasks = repository.findAllByFilter(ADMIN_ID, filter, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(List.of(10L), tasks.stream().map(TodoTask::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void findAllByFilter_Starred_ShouldReturnOnlyOwnTasks() {
+        TaskFilter filter = new TaskFilter.Builder().starred(true).build();
+
+        assertTrue(repository.findAllByFilter(ADMIN_ID, filter, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(1, repository.findAllByFilter(USER_ID, filter, PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    public void findAllByFilter_DueByToday_ShouldSplitIntoSortedPages() {
+        TaskFilter filter = new TaskFilter.Builder().to(LocalDate.now()).build();
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+
+        List<TodoTask> firstPage = repository.findAllByFilter(ADMIN_ID, filter, PageRequest.of(0, 2, sort));
+        List<TodoTask> secondPage = repository.findAllByFilter(ADMIN_ID, filter, PageRequest.of(1, 2, sort));
+        List<TodoTask> thirdPage = repository.findAllByFilter(ADMIN_ID, filter, PageRequest.of(2, 2, sort));
+
+        assertEquals(List.of(6L, 4L), firstPage.stream().map(TodoTask::getId).collect(Collectors.toList()));
+        assertEquals(List.of(3L), secondPage.stream().map(TodoTask::getId).collect(Collectors.toList()));
+        assertTrue(thirdPage.isEmpty());
+    }
+
     // get by id
     @Test
     public void findById_ShouldReturnTaskById() {
@@ -60,6 +172,72 @@ public class TodoTaskRepositoryTest extends AbstractRepositoryTestClass {
         assertEquals(task.getTitle(), taskFromDB.getTitle());
     }
 
+    @Test
+    public void createTask_WithUserReference_ShouldIssueOneInsert() {
+        // the first task takes a block of ids from the sequence
+        TodoTask first = new TodoTask("First task");
+        first.setUser(userRepository.getOne(ADMIN_ID));
+        repository.save(first);
+        entityManager.flush();
+
+        Statistics statistics = clearStatistics();
+
+        TodoTask task = new TodoTask("Second task");
+        task.setUser(userRepository.getOne(ADMIN_ID));
+        repository.save(task);
+        entityManager.flush();
+
+        assertFalse(Hibernate.isInitialized(task.getUser()));
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // delete if allowed
+    @Test
+    public void deleteTask_ShouldDeleteOnlyOwnTask() {
+        // task 2 belongs to the user 2
+        assertEquals(0, repository.deleteTask(2L, ADMIN_ID, false));
+        assertTrue(repository.existsById(2L));
+
+        assertEquals(1, repository.deleteTask(2L, USER_ID, false));
+        assertFalse(repository.existsById(2L));
+    }
+
+    @Test
+    public void deleteTask_Admin_ShouldDeleteAnyTask() {
+        assertEquals(1, repository.deleteTask(5L, ADMIN_ID, true));
+        assertEquals(0, repository.deleteTask(100L, ADMIN_ID, true));
+    }
+
+    // move to and remove from the section
+    @Test
+    public void moveToSection_ShouldMoveOnlyOwnTasks() {
+        long before = System.currentTimeMillis();
+        // task 2 belongs to another user
+        int moved = repository.moveToSection(ADMIN_ID, SECTIONS[2], List.of(2L, 4L, 6L));
+        assertEquals(2, moved);
+
+        // the JVM clock, as with @UpdateTimestamp
+        Date updatedAt = repository.findById(4L).map(TodoTask::getUpdatedAt).orElse(null);
+        assertNotNull(updatedAt);
+        assertTrue(updatedAt.getTime() >= before);
+
+        assertEquals(SECTIONS[2], repository.findById(4L).map(task -> task.getTodoSection().getId()).orElse(null));
+        assertEquals(SECTIONS[2], repository.findById(6L).map(task -> task.getTodoSection().getId()).orElse(null));
+        assertEquals(SECTIONS[1], repository.findById(2L).map(task -> task.getTodoSection().getId()).orElse(null));
+    }
+
+    @Test
+    public void removeFromSection_ShouldRemoveOnlyTasksOfSection() {
+        // task 1 is in another section
+        int removed = repository.removeFromSection(ADMIN_ID, SECTIONS[2], List.of(1L, 3L));
+        assertEquals(1, removed);
+
+        assertNull(repository.findById(3L).map(TodoTask::getTodoSection).orElse(null));
+        assertNotNull(repository.findById(1L).map(TodoTask::getTodoSection).orElse(null));
+    }
+
     // update by id
     @Test
     public void updateTask_ShouldUpdateTaskById() {
@@ -0,0 +1,81 @@
+package ru.example.todo.repository;
+/*
+ * Date: 10/18/26
+ * Time: 10:10 PM
+ * */
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.example.todo.entity.Tombstone;
+import ru.example.todo.enums.EntityType;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TombstoneRepositoryTest extends AbstractRepositoryTestClass {
+
+    @Autowired
+    private TombstoneRepository repository;
+
+    @Test
+    public void saveTaskTombstone_ShouldSaveOwnTaskOnly() {
+        Date now = new Date();
+
+        assertEquals(1, repository.saveTaskTombstone(1L, ADMIN_ID, false, now));
+        assertEquals(0, repository.saveTaskTombstone(2L, ADMIN_ID, false, now));
+        assertEquals(0, repository.saveTaskTombstone(999L, ADMIN_ID, false, now));
+
+        List<Tombstone> tombstones = repository.findAll();
+        assertEquals(1, tombstones.size());
+        assertEquals(ADMIN_ID, tombstones.get(0).getUserId());
+        assertEquals(EntityType.TASK, tombstones.get(0).getEntityType());
+        assertEquals(1L, (long) tombstones.get(0).getEntityId());
+    }
+
+    @Test
+    public void saveSectionTombstone_Admin_ShouldSaveWithOwnerId() {
+        assertEquals(1, repository.saveSectionTombstone(2L, ADMIN_ID, true, new Date()));
+
+        Tombstone tombstone = repository.findAll().get(0);
+        assertEquals(USER_ID, tombstone.getUserId());
+        assertEquals(EntityType.SECTION, tombstone.getEntityType());
+        assertEquals(2L, (long) tombstone.getEntityId());
+    }
+
+    @Test
+    public void streamChanges_ShouldReturnUserTombstonesSinceDate() {
+        long now = System.currentTimeMillis();
+        repository.saveAll(List.of(
+                new Tombstone(ADMIN_ID, EntityType.TASK, 20L, new Date(now - 60_000)),
+                new Tombstone(ADMIN_ID, EntityType.SECTION, 21L, new Date(now)),
+                new Tombstone(USER_ID, EntityType.TASK, 22L, new Date(now))));
+
+        List<Long> ids;
+        try (Stream<Tombstone> stream = repository.streamChanges(ADMIN_ID, new Date(now - 1000))) {
+            ids = stream.map(Tombstone::getEntityId).collect(Collectors.toList());
+        }
+
+        assertEquals(List.of(21L), ids);
+    }
+
+    @Test
+    public void deleteExpired_ShouldDeleteInBatches() {
+        long now = System.currentTimeMillis();
+        repository.saveAll(List.of(
+                new Tombstone(ADMIN_ID, EntityType.TASK, 20L, new Date(now - 60_000)),
+                new Tombstone(ADMIN_ID, EntityType.TASK, 21L, new Date(now - 60_000)),
+                new Tombstone(ADMIN_ID, EntityType.TASK, 22L, new Date(now))));
+        entityManager.flush();
+
+        assertEquals(1, repository.deleteExpired(new Date(now - 1000), 1));
+        assertEquals(1, repository.deleteExpired(new Date(now - 1000), 1));
+        assertEquals(0, repository.deleteExpired(new Date(now - 1000), 1));
+        assertTrue(repository.findAll().stream().allMatch(tombstone -> tombstone.getEntityId() == 22L));
+    }
+
+}
@@ -6,6 +6,8 @@ package ru.example.todo.repository;
 
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import ru.example.todo.entity.TodoSection;
+import ru.example.todo.entity.TodoTask;
 import ru.example.todo.entity.User;
 
 import java.util.List;
@@ -97,6 +99,24 @@ public class UserRepositoryTest extends AbstractRepositoryTestClass {
         assertFalse(repository.existsByUsername(username));
     }
 
+    @Test
+    public void findDataVersion_ShouldChangeOnEveryWrite() {
+        String initial = repository.findDataVersion(ADMIN_ID);
+        assertNotNull(initial);
+        assertNotEquals(initial, repository.findDataVersion(USER_ID));
+
+        TodoSection section = new TodoSection("Someday");
+        section.setUser(entityManager.find(User.class, ADMIN_ID));
+        entityManager.persistAndFlush(section);
+        String created = repository.findDataVersion(ADMIN_ID);
+        assertNotEquals(initial, created);
+
+        // a delete doesn't move the last modification date, the count changes
+        entityManager.remove(entityManager.find(TodoTask.class, 4L));
+        entityManager.flush();
+        assertNotEquals(created, repository.findDataVersion(ADMIN_ID));
+    }
+
     @Test
     public void createUser_UsernameAlreadyTaken_ShouldThrowException() {
         User user = createAndGetUser("admin@mail.com");
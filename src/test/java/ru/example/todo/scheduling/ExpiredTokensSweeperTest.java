@@ -0,0 +1,65 @@
+package ru.example.todo.scheduling;
+/*
+ * Date: 10/18/26
+ * Time: 5:30 PM
+ * */
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import ru.example.todo.config.properties.TokenProperties;
+import ru.example.todo.repository.RefreshTokenRepository;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExpiredTokensSweeperTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private MeterRegistry meterRegistry;
+    private ExpiredTokensSweeper sweeper;
+
+    @Before
+    public void setUp() {
+        TokenProperties tokenProperties = new TokenProperties();
+        tokenProperties.getSweeper().setBatchSize(100);
+
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new ExpiredTokensSweeper(refreshTokenRepository, tokenProperties, meterRegistry);
+    }
+
+    @Test
+    public void sweep_ShouldDeleteInBatchesUntilLastIsNotFull() {
+        given(refreshTokenRepository.deleteExpired(any(Date.class), eq(100))).willReturn(100, 100, 42);
+
+        sweeper.sweep();
+
+        verify(refreshTokenRepository, times(3)).deleteExpired(any(Date.class), eq(100));
+        assertEquals(242.0, meterRegistry.get("tokens.sweeper.removed").counter().count(), 0);
+        assertEquals(1, meterRegistry.get("tokens.sweeper.duration").timer().count());
+    }
+
+    @Test
+    public void sweep_NothingExpired_ShouldRunOneBatch() {
+        given(refreshTokenRepository.deleteExpired(any(Date.class), eq(100))).willReturn(0);
+
+        sweeper.sweep();
+
+        verify(refreshTokenRepository, times(1)).deleteExpired(any(Date.class), eq(100));
+        assertEquals(0.0, meterRegistry.get("tokens.sweeper.removed").counter().count(), 0);
+    }
+
+}
@@ -0,0 +1,133 @@
+package ru.example.todo.scheduling;
+/*
+ * Date: 10/19/26
+ * Time: 1:00 AM
+ * */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import ru.example.todo.config.properties.ImportProperties;
+import ru.example.todo.entity.ImportError;
+import ru.example.todo.entity.TodoTask;
+import ru.example.todo.enums.DataFormat;
+import ru.example.todo.enums.ImportStatus;
+import ru.example.todo.service.TaskImportService;
+
+import javax.validation.Validation;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TaskImportRunnerTest {
+
+    private static final Long JOB_ID = 7L;
+    private static final Long USER_ID = 2L;
+
+    @Mock
+    private TaskImportService taskImportService;
+
+    private MeterRegistry meterRegistry;
+    private TaskImportRunner runner;
+    private Path file;
+
+    // the lists are reused by the runner, so their contents are copied as they are passed
+    private final List<List<String>> savedTitles = new ArrayList<>();
+    private final List<List<ImportError>> savedErrors = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setBatchSize(2);
+
+        meterRegistry = new SimpleMeterRegistry();
+        runner = new TaskImportRunner(taskImportService, new ObjectMapper().registerModule(new JavaTimeModule()),
+                Validation.buildDefaultValidatorFactory().getValidator(), importProperties, meterRegistry);
+        file = Files.createTempFile("task-import-test-", ".tmp");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void run_ShouldSaveValidRowsInBatchesAndRecordErrors() throws IOException {
+        recordBatches();
+        Files.writeString(file, "{\"title\":\"Read a book\"}\n" +
+                "{\"title\":\"ab\"}\n" +
+                "{\"title\":\"Buy milk\",\"starred\":true}\n" +
+                "{\"completed\":true}\n" +
+                "{\"title\":\"Make a call\"\n", StandardCharsets.UTF_8);
+
+        runner.run(JOB_ID, USER_ID, DataFormat.NDJSON, file);
+
+        InOrder inOrder = inOrder(taskImportService);
+        inOrder.verify(taskImportService).updateStatus(JOB_ID, ImportStatus.RUNNING, null);
+        inOrder.verify(taskImportService, times(2)).saveBatch(eq(JOB_ID), eq(USER_ID), eq(2), anyList(), anyList());
+        inOrder.verify(taskImportService).saveBatch(eq(JOB_ID), eq(USER_ID), eq(1), anyList(), anyList());
+        inOrder.verify(taskImportService).updateStatus(JOB_ID, ImportStatus.DONE, null);
+
+        assertEquals(List.of(List.of("Read a book"), List.of("Buy milk"), List.of()), savedTitles);
+        assertEquals("title: Size must be between 3 and 80", savedErrors.get(0).get(0).getMessage());
+        assertEquals(2, savedErrors.get(0).get(0).getLine());
+        assertEquals("title: must not be empty", savedErrors.get(1).get(0).getMessage());
+        assertEquals(5, savedErrors.get(2).get(0).getLine());
+
+        assertEquals(2.0, meterRegistry.get("import.tasks.imported").counter().count(), 0);
+        assertEquals(3.0, meterRegistry.get("import.rows.failed").counter().count(), 0);
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void run_CsvWithoutTitle_ShouldFailJob() throws IOException {
+        Files.writeString(file, "name,completed\nRead a book,false\n", StandardCharsets.UTF_8);
+
+        runner.run(JOB_ID, USER_ID, DataFormat.CSV, file);
+
+        verify(taskImportService).updateStatus(JOB_ID, ImportStatus.FAILED, "The CSV header has no title column");
+        verify(taskImportService, never()).saveBatch(anyLong(), anyLong(), anyInt(), anyList(), anyList());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void run_SaveFails_ShouldFailJob() throws IOException {
+        doThrow(new IllegalStateException("connection lost")).when(taskImportService)
+                .saveBatch(anyLong(), anyLong(), anyInt(), anyList(), anyList());
+        Files.writeString(file, "title\nRead a book\n", StandardCharsets.UTF_8);
+
+        runner.run(JOB_ID, USER_ID, DataFormat.CSV, file);
+
+        verify(taskImportService).updateStatus(eq(JOB_ID), eq(ImportStatus.FAILED), anyString());
+        verify(taskImportService, never()).updateStatus(JOB_ID, ImportStatus.DONE, null);
+        assertFalse(Files.exists(file));
+    }
+
+    private void recordBatches() {
+        doAnswer(invocation -> {
+            List<TodoTask> tasks = invocation.getArgument(3);
+            List<ImportError> errors = invocation.getArgument(4);
+            savedTitles.add(tasks.stream().map(TodoTask::getTitle).collect(Collectors.toList()));
+            savedErrors.add(new ArrayList<>(errors));
+            return null;
+        }).when(taskImportService).saveBatch(anyLong(), anyLong(), anyInt(), anyList(), anyList());
+    }
+
+}
@@ -0,0 +1,100 @@
+package ru.example.todo.security;
+/*
+ * Date: 10/18/26
+ * Time: 2:45 PM
+ * */
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import ru.example.todo.config.properties.TokenProperties;
+import ru.example.todo.entity.User;
+import ru.example.todo.enums.Role;
+import ru.example.todo.exception.CustomException;
+import ru.example.todo.service.JwtTokenService;
+
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AccessTokenCacheTest {
+
+    @Mock
+    private JwtTokenService jwtTokenService;
+
+    private TokenProperties tokenProperties;
+    private MeterRegistry meterRegistry;
+
+    @Before
+    public void setUp() {
+        tokenProperties = new TokenProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void getAuthentication_SameToken_ShouldVerifyOnce() {
+        Authentication auth = authentication(new Date(System.currentTimeMillis() + 60_000));
+        given(jwtTokenService.getAuthentication("token")).willReturn(auth);
+        AccessTokenCache cache = new AccessTokenCache(jwtTokenService, tokenProperties, meterRegistry);
+
+        assertSame(auth, cache.getAuthentication("token"));
+        assertSame(auth, cache.getAuthentication("token"));
+
+        verify(jwtTokenService, times(1)).getAuthentication("token");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count(), 0);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count(), 0);
+    }
+
+    @Test
+    public void getAuthentication_ExpiredToken_ShouldVerifyAgain() {
+        given(jwtTokenService.getAuthentication("token")).willReturn(authentication(new Date()));
+        AccessTokenCache cache = new AccessTokenCache(jwtTokenService, tokenProperties, meterRegistry);
+
+        cache.getAuthentication("token");
+        cache.getAuthentication("token");
+
+        verify(jwtTokenService, times(2)).getAuthentication("token");
+    }
+
+    @Test
+    public void getAuthentication_CacheDisabled_ShouldVerifyEveryTime() {
+        tokenProperties.getCache().setEnabled(false);
+        given(jwtTokenService.getAuthentication("token"))
+                .willReturn(authentication(new Date(System.currentTimeMillis() + 60_000)));
+        AccessTokenCache cache = new AccessTokenCache(jwtTokenService, tokenProperties, meterRegistry);
+
+        cache.getAuthentication("token");
+        cache.getAuthentication("token");
+
+        verify(jwtTokenService, times(2)).getAuthentication("token");
+    }
+
+    @Test(expected = CustomException.class)
+    public void getAuthentication_InvalidToken_ShouldThrowCustomException() {
+        given(jwtTokenService.getAuthentication(anyString()))
+                .willThrow(new CustomException("Expired or invalid JWT token", HttpStatus.FORBIDDEN));
+        AccessTokenCache cache = new AccessTokenCache(jwtTokenService, tokenProperties, meterRegistry);
+
+        cache.getAuthentication("token");
+    }
+
+    private static Authentication authentication(Date expiresAt) {
+        User user = new User(1L, Set.of(Role.USER));
+        UserDetailsImpl userDetails = new UserDetailsImpl(user);
+        return new AccessTokenAuthentication(userDetails, userDetails.getAuthorities(), expiresAt);
+    }
+
+}
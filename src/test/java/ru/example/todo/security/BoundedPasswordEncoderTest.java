@@ -0,0 +1,100 @@
+package ru.example.todo.security;
+/*
+ * Date: 10/18/26
+ * Time: 3:40 PM
+ * */
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ru.example.todo.config.properties.BCryptProperties;
+import ru.example.todo.exception.ServiceUnavailableException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BoundedPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private MeterRegistry meterRegistry;
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Before
+    public void setUp() {
+        BCryptProperties properties = new BCryptProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setRetryAfter(2);
+
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(delegate, properties, meterRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    public void encode_ShouldRunOnExecutor() {
+        given(delegate.encode("password")).willAnswer(invocation -> Thread.currentThread().getName());
+
+        String threadName = passwordEncoder.encode("password");
+
+        assertTrue(threadName.startsWith("bcrypt-"));
+        assertEquals(1, meterRegistry.get("executor").tag("name", "bcrypt").timer().count());
+    }
+
+    @Test
+    public void matches_ShouldReturnDelegateResult() {
+        given(delegate.matches("password", "hash")).willReturn(true);
+
+        assertTrue(passwordEncoder.matches("password", "hash"));
+    }
+
+    @Test
+    public void encode_QueueIsFull_ShouldThrowServiceUnavailableException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(delegate.encode(any())).willAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("second"));
+        while (meterRegistry.get("executor.queued").tag("name", "bcrypt").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+
+        try {
+            passwordEncoder.encode("third");
+            fail("ServiceUnavailableException expected");
+        } catch (ServiceUnavailableException ex) {
+            assertEquals(2, ex.getRetryAfter());
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("executor.rejected").tag("name", "bcrypt").counter().count(), 0);
+    }
+
+}
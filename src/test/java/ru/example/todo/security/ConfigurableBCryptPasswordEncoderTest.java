@@ -0,0 +1,45 @@
+package ru.example.todo.security;
+/*
+ * Date: 10/18/26
+ * Time: 4:30 PM
+ * */
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConfigurableBCryptPasswordEncoderTest {
+
+    private final ConfigurableBCryptPasswordEncoder passwordEncoder = new ConfigurableBCryptPasswordEncoder(5);
+
+    @Test
+    public void encode_ShouldUseConfiguredStrength() {
+        String hash = passwordEncoder.encode("password");
+        assertEquals(5, ConfigurableBCryptPasswordEncoder.getStrength(hash));
+        assertTrue(passwordEncoder.matches("password", hash));
+    }
+
+    @Test
+    public void upgradeEncoding_OtherStrength_ShouldReturnTrue() {
+        assertTrue(passwordEncoder.upgradeEncoding(new ConfigurableBCryptPasswordEncoder(4).encode("password")));
+        assertTrue(passwordEncoder.upgradeEncoding(new ConfigurableBCryptPasswordEncoder(6).encode("password")));
+    }
+
+    @Test
+    public void upgradeEncoding_SameStrength_ShouldReturnFalse() {
+        assertFalse(passwordEncoder.upgradeEncoding(passwordEncoder.encode("password")));
+    }
+
+    @Test
+    public void upgradeEncoding_NotBCryptHash_ShouldReturnFalse() {
+        assertFalse(passwordEncoder.upgradeEncoding(null));
+        assertFalse(passwordEncoder.upgradeEncoding("password"));
+        assertFalse(passwordEncoder.upgradeEncoding("$2a$xx$hash"));
+    }
+
+    @Test
+    public void calibrate_ZeroBudget_ShouldReturnMinStrength() {
+        assertEquals(ConfigurableBCryptPasswordEncoder.MIN_STRENGTH, ConfigurableBCryptPasswordEncoder.calibrate(0));
+    }
+
+}
@@ -9,11 +9,11 @@ import io.jsonwebtoken.security.Keys;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import ru.example.todo.config.properties.TokenProperties;
 import ru.example.todo.enums.Role;
 import ru.example.todo.exception.CustomException;
@@ -23,6 +23,7 @@ import javax.servlet.http.HttpServletRequest;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -33,7 +34,6 @@ import static org.mockito.Mockito.mock;
 @RunWith(MockitoJUnitRunner.class)
 public class JwtTokenServiceTest {
 
-    @InjectMocks
     private JwtTokenServiceImpl jwtTokenService;
 
     @Mock
@@ -43,6 +43,7 @@ public class JwtTokenServiceTest {
     public void setUp() {
         given(tokenProperties.getSecret()).willReturn("secretKey".repeat(5));
         given(tokenProperties.getAccessTokenValidity()).willReturn(1_800_000L);
+        jwtTokenService = new JwtTokenServiceImpl(tokenProperties);
     }
 
     // buildAccessToken
@@ -139,6 +140,35 @@ public class JwtTokenServiceTest {
         assertTrue(userRoles.contains(Role.ADMIN));
     }
 
+    @Test
+    public void getUserRoles_ShouldEncodeRolesAsBitmask() {
+        String accessToken = jwtTokenService
+                .buildAccessToken(1L, Set.of(Role.ADMIN, Role.USER));
+
+        Object auth = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(tokenProperties.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(accessToken)
+                .getBody()
+                .get("auth");
+
+        assertEquals(3, auth);
+    }
+
+    @Test
+    public void getUserRoles_LegacyToken_ShouldReturnRoles() {
+        String accessToken = Jwts.builder()
+                .setClaims(Map.of("id", 1L, "auth", List.of(
+                        new SimpleGrantedAuthority(Role.USER.getAuthority()),
+                        new SimpleGrantedAuthority(Role.ADMIN.getAuthority()))))
+                .setExpiration(new Date(new Date().getTime() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(tokenProperties.getSecret().getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        Set<Role> userRoles = jwtTokenService.getUserRoles(accessToken);
+        assertEquals(Set.of(Role.USER, Role.ADMIN), userRoles);
+    }
+
     // getAuthentication
     @Test
     public void getAuthentication_ShouldReturnAuthInstance() {
@@ -149,4 +179,15 @@ public class JwtTokenServiceTest {
         assertNotNull(auth);
     }
 
+    @Test
+    public void getAuthentication_InvalidSignature_ShouldThrowCustomException() {
+        String accessToken = Jwts.builder()
+                .setClaims(Map.of("id", 1L))
+                .setExpiration(new Date(new Date().getTime() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("anotherKey".repeat(5).getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(CustomException.class, () -> jwtTokenService.getAuthentication(accessToken));
+    }
+
 }
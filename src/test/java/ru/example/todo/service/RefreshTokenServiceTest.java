@@ -9,12 +9,15 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import ru.example.todo.config.properties.TokenProperties;
 import ru.example.todo.entity.RefreshToken;
 import ru.example.todo.exception.CustomException;
 import ru.example.todo.repository.RefreshTokenRepository;
 import ru.example.todo.service.impl.RefreshTokenServiceImpl;
+import ru.example.todo.util.Sha256;
+import ru.example.todo.util.TokenGenerator;
 
 import java.time.Instant;
 import java.util.Date;
@@ -24,6 +27,7 @@ import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -38,6 +42,9 @@ public class RefreshTokenServiceTest {
     @Mock
     private TokenProperties tokenProperties;
 
+    @Spy
+    private TokenGenerator tokenGenerator = new TokenGenerator();
+
     @Before
     public void setUp() {
         given(tokenProperties.getRefreshTokenValidity()).willReturn(86_400_000L);
@@ -46,30 +53,23 @@ public class RefreshTokenServiceTest {
     // createRefreshToken
     @Test
     public void createRefreshToken_ShouldReturnNewRefreshTokenValue() {
-        RefreshToken mockRefreshToken = mock(RefreshToken.class);
-        given(refreshTokenRepository.findByUserId(anyLong())).willReturn(Optional.empty());
-        given(refreshTokenRepository.save(any(RefreshToken.class))).willReturn(mockRefreshToken);
-
         String refreshTokenValue = refreshTokenService.createRefreshToken(1L, "0.0.0.0:8080");
         assertNotNull(refreshTokenValue);
         assertEquals(64, refreshTokenValue.length());
 
-        verify(refreshTokenRepository).findByUserId(anyLong());
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(refreshTokenRepository).upsert(eq(Sha256.hex(refreshTokenValue)), eq(1L),
+                eq("0.0.0.0:8080"), any(Date.class));
     }
 
     @Test
-    public void createRefreshToken_ShouldReturnUpdatedRefreshTokenValue() {
-        RefreshToken mockRefreshToken = mock(RefreshToken.class);
-        given(refreshTokenRepository.findByUserId(anyLong())).willReturn(Optional.of(mockRefreshToken));
-        given(refreshTokenRepository.save(any(RefreshToken.class))).willReturn(mockRefreshToken);
-
+    public void createRefreshToken_WithoutIp_ShouldReturnRefreshTokenValue() {
         String refreshTokenValue = refreshTokenService.createRefreshToken(1L, null);
         assertNotNull(refreshTokenValue);
         assertEquals(64, refreshTokenValue.length());
 
-        verify(refreshTokenRepository).findByUserId(anyLong());
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(refreshTokenRepository).upsert(eq(Sha256.hex(refreshTokenValue)), eq(1L),
+                isNull(), any(Date.class));
+        verify(refreshTokenRepository, never()).findByUserId(anyLong());
     }
 
     // save
@@ -89,19 +89,20 @@ public class RefreshTokenServiceTest {
     @Test
     public void findRefreshTokenByValue_ShouldRetunToken() {
         RefreshToken mockRefreshToken = mock(RefreshToken.class);
-        given(mockRefreshToken.getValue()).willReturn("someRefreshToken");
+        given(mockRefreshToken.getTokenHash()).willReturn(Sha256.hex("someRefreshToken"));
         given(mockRefreshToken.getExpiresAt()).willReturn(Date.from(new Date().toInstant().plusSeconds(60)));
 
-        given(refreshTokenRepository.findByValue(anyString())).willReturn(Optional.of(mockRefreshToken));
-        RefreshToken refreshToken = refreshTokenService.findRefreshTokenByValue(mockRefreshToken.getValue());
+        given(refreshTokenRepository.findByTokenHash(Sha256.hex("someRefreshToken")))
+                .willReturn(Optional.of(mockRefreshToken));
+        RefreshToken refreshToken = refreshTokenService.findRefreshTokenByValue("someRefreshToken");
 
         assertNotNull(refreshToken);
-        assertEquals("someRefreshToken", refreshToken.getValue());
+        assertEquals(Sha256.hex("someRefreshToken"), refreshToken.getTokenHash());
     }
 
     @Test
     public void findRefreshTokenByValue_NotFound_ShouldThrowCustomException() {
-        given(refreshTokenRepository.findByValue(anyString())).willReturn(Optional.empty());
+        given(refreshTokenRepository.findByTokenHash(anyString())).willReturn(Optional.empty());
         assertThrows(CustomException.class, () ->
                 refreshTokenService.findRefreshTokenByValue("someRefreshToken"));
     }
@@ -109,12 +110,11 @@ public class RefreshTokenServiceTest {
     @Test
     public void findRefreshTokenByValue_Expired_ShouldThrowCustomException() {
         RefreshToken mockRefreshToken = mock(RefreshToken.class);
-        given(mockRefreshToken.getValue()).willReturn("someRefreshToken");
         given(mockRefreshToken.getExpiresAt()).willReturn(Date.from(new Date().toInstant().minusSeconds(60)));
 
-        given(refreshTokenRepository.findByValue(anyString())).willReturn(Optional.of(mockRefreshToken));
+        given(refreshTokenRepository.findByTokenHash(anyString())).willReturn(Optional.of(mockRefreshToken));
         assertThrows(CustomException.class, () ->
-                refreshTokenService.findRefreshTokenByValue(mockRefreshToken.getValue()));
+                refreshTokenService.findRefreshTokenByValue("someRefreshToken"));
     }
 
     // findRefreshTokenByUserId
@@ -0,0 +1,75 @@
+package ru.example.todo.service;
+/*
+ * Date: 10/18/26
+ * Time: 10:15 PM
+ * */
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpStatus;
+import ru.example.todo.config.properties.SyncProperties;
+import ru.example.todo.domain.SyncToken;
+import ru.example.todo.exception.CustomException;
+import ru.example.todo.repository.TombstoneRepository;
+import ru.example.todo.service.impl.SyncServiceImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SyncServiceTest {
+
+    @InjectMocks
+    private SyncServiceImpl syncService;
+
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+
+    @Spy
+    private SyncProperties syncProperties = new SyncProperties();
+
+    @Test
+    public void decodeToken_WithoutToken_ShouldReturnInitial() {
+        assertSame(SyncToken.INITIAL, syncService.decodeToken(null));
+        assertSame(SyncToken.INITIAL, syncService.decodeToken(""));
+    }
+
+    @Test
+    public void decodeToken_ShouldDecodeNextToken() {
+        SyncToken next = syncService.nextToken();
+        assertEquals(next.getSince(), syncService.decodeToken(next.encode()).getSince());
+        assertTrue(next.getSince().isBefore(Instant.now().minusMillis(syncProperties.getOverlap() - 1)));
+    }
+
+    @Test
+    public void decodeToken_Malformed_ShouldThrowBadRequest() {
+        CustomException ex = assertThrows(CustomException.class, () -> syncService.decodeToken("not a token"));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+    }
+
+    @Test
+    public void decodeToken_OlderThanTombstones_ShouldThrowGone() {
+        String token = new SyncToken(Instant.now().minus(Duration.ofDays(31))).encode();
+
+        CustomException ex = assertThrows(CustomException.class, () -> syncService.decodeToken(token));
+        assertEquals(HttpStatus.GONE, ex.getHttpStatus());
+    }
+
+    @Test
+    public void forEachTombstone_InitialSync_ShouldSkipTombstones() {
+        syncService.forEachTombstone(1L, SyncToken.INITIAL, tombstone -> fail());
+        verify(tombstoneRepository, never()).streamChanges(anyLong(), any(Date.class));
+    }
+
+}
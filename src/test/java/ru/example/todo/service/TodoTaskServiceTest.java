@@ -6,22 +6,43 @@ package ru.example.todo.service;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import ru.example.todo.domain.TaskChange;
+import ru.example.todo.domain.TaskCursor;
+import ru.example.todo.domain.TaskFilter;
+import ru.example.todo.domain.TaskOperation;
+import ru.example.todo.domain.TaskOperationResult;
+import ru.example.todo.entity.Tombstone;
 import ru.example.todo.entity.TodoTask;
 import ru.example.todo.entity.User;
+import ru.example.todo.enums.BatchOperation;
+import ru.example.todo.enums.EntityType;
+import ru.example.todo.enums.Role;
+import ru.example.todo.enums.filters.FilterByOperation;
 import ru.example.todo.enums.filters.FilterByDate;
 import ru.example.todo.exception.CustomException;
 import ru.example.todo.repository.TodoTaskRepository;
+import ru.example.todo.repository.TombstoneRepository;
 import ru.example.todo.service.impl.TodoTaskServiceImpl;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.BDDMockito.given;
@@ -36,6 +57,9 @@ public class TodoTaskServiceTest {
     @Mock
     private TodoTaskRepository taskRepository;
 
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+
     // findTasks
     @Test
     public void findTasks_ShouldReturnAllUserTasks() {
@@ -45,42 +69,83 @@ public class TodoTaskServiceTest {
         TodoTask task2 = mock(TodoTask.class);
         given(task2.getTitle()).willReturn("task2");
 
-        given(taskRepository.findAllByUserId(anyLong(), any(Pageable.class))).willReturn(List.of(task1, task2));
+        given(taskRepository.findAllByFilter(anyLong(), any(TaskFilter.class), any(Pageable.class)))
+                .willReturn(List.of(task1, task2));
 
-        List<TodoTask> tasks = taskService.findTasks(1L, 0, 10, FilterByDate.ALL, "secId");
+        List<TodoTask> tasks = taskService.findTasks(1L, 0, 10, TaskFilter.ALL, "secId");
         assertFalse(tasks.isEmpty());
         assertEquals(2, tasks.size());
 
         assertTrue(tasks.get(0).getTitle().startsWith("task"));
         assertTrue(tasks.get(1).getTitle().startsWith("task"));
 
-        verify(taskRepository, times(1)).findAllByUserId(anyLong(), any(Pageable.class));
+        verify(taskRepository, times(1)).findAllByFilter(anyLong(), any(TaskFilter.class), any(Pageable.class));
     }
 
     @Test
-    public void findTasks_ShouldReturnTodaysTasks() {
+    public void findTasks_ShouldPassFilterAndPage() {
+        TaskFilter filter = new TaskFilter.Builder()
+                .date(FilterByDate.TODAY)
+                .completed(false)
+                .build();
+        given(taskRepository.findAllByFilter(anyLong(), any(TaskFilter.class), any(Pageable.class)))
+                .willReturn(List.of(mock(TodoTask.class)));
+
+        List<TodoTask> tasks = taskService.findTasks(1L, 2, 1000, filter, "createdAt,asc");
+        assertEquals(1, tasks.size());
+
+        verify(taskRepository).findAllByFilter(eq(1L), eq(filter), eq(PageRequest.of(2, 100,
+                Sort.by(Sort.Direction.ASC, "createdAt").and(Sort.by(Sort.Direction.ASC, "id")))));
+    }
+
+    // findTasksAfter
+    @Test
+    public void findTasksAfter_ShouldSeekAfterCursor() {
         TodoTask task = mock(TodoTask.class);
-        given(task.getTitle()).willReturn("task");
+        String cursor = new TaskCursor("createdAt", Instant.now(), 5L).encode();
 
-        given(taskRepository.findAllByCompletionDateEqualsAndUserId(any(), any(), anyLong()))
-                .willReturn(List.of(task));
+        given(taskRepository.findAllByUserIdAfterCursor(anyLong(), any(), any(TaskCursor.class),
+                any(Sort.Direction.class), anyInt())).willReturn(List.of(task));
 
-        List<TodoTask> tasks = taskService.findTasks(1L, 0, 1000, FilterByDate.TODAY, "secId");
-        assertFalse(tasks.isEmpty());
-        assertEquals("task", tasks.get(0).getTitle());
+        List<TodoTask> tasks = taskService.findTasksAfter(1L, cursor, 1000, TaskFilter.ALL, "createdAt,asc");
+        assertEquals(1, tasks.size());
+
+        verify(taskRepository).findAllByUserIdAfterCursor(eq(1L), eq(TaskFilter.ALL),
+                any(TaskCursor.class), eq(Sort.Direction.ASC), eq(100));
     }
 
     @Test
-    public void findTasks_ShouldReturnOverdueTasks() {
+    public void findTasksAfter_InvalidCursor_ShouldThrowException() {
+        assertThrows(CustomException.class, () ->
+                taskService.findTasksAfter(1L, "notACursor", 10, TaskFilter.ALL, "createdAt"));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    public void findTasksAfter_AnotherSort_ShouldThrowException() {
+        String cursor = new TaskCursor("createdAt", Instant.now(), 5L).encode();
+        assertThrows(CustomException.class, () ->
+                taskService.findTasksAfter(1L, cursor, 10, TaskFilter.ALL, "updatedAt"));
+        verifyNoInteractions(taskRepository);
+    }
+
+    // getNextCursor
+    @Test
+    public void getNextCursor_FullPage_ShouldReturnCursor() {
         TodoTask task = mock(TodoTask.class);
-        given(task.getTitle()).willReturn("task");
+        given(task.getId()).willReturn(7L);
+        given(task.getCreatedAt()).willReturn(new Date());
 
-        given(taskRepository.findAllByCompletionDateBeforeAndUserId(any(), any(), anyLong()))
-                .willReturn(List.of(task));
+        String cursor = taskService.getNextCursor(List.of(task), 1, "createdAt");
+        assertNotNull(cursor);
+        assertEquals(7L, (long) TaskCursor.decode(cursor).getId());
+    }
 
-        List<TodoTask> tasks = taskService.findTasks(1L, 0, 1000, FilterByDate.OVERDUE, "secId");
-        assertFalse(tasks.isEmpty());
-        assertEquals("task", tasks.get(0).getTitle());
+    @Test
+    public void getNextCursor_LastPage_ShouldReturnNull() {
+        TodoTask task = mock(TodoTask.class);
+        assertNull(taskService.getNextCursor(List.of(task), 20, "createdAt"));
+        assertNull(taskService.getNextCursor(List.of(task), 1, "title"));
     }
 
     // findTaskById
@@ -106,17 +171,62 @@ public class TodoTaskServiceTest {
         assertThrows(CustomException.class, () -> taskService.findTaskById(1L, 1L));
     }
 
+    // forEachTask
+    @Test
+    public void forEachTask_ShouldPassTasksAndCloseStream() {
+        TaskChange task = new TaskChange(1L, "Title", false, false, null, null, new Date(), new Date());
+        AtomicBoolean closed = new AtomicBoolean();
+        given(taskRepository.streamAllByUserId(1L))
+                .willReturn(Stream.of(task).onClose(() -> closed.set(true)));
+
+        List<TaskChange> exported = new ArrayList<>();
+        taskService.forEachTask(1L, exported::add);
+
+        assertEquals(List.of(task), exported);
+        assertTrue(closed.get());
+    }
+
     // deleteTaskById
     @Test
     public void deleteTaskById_ShouldDeleteTaskById() {
-        User principal = mock(User.class);
-        TodoTask task = mock(TodoTask.class);
-        given(task.getId()).willReturn(1L);
+        User principal = new User(1L, Set.of(Role.USER));
+        given(taskRepository.deleteTask(5L, 1L, false)).willReturn(1);
+
+        taskService.deleteTaskById(principal, 5L);
+
+        verify(tombstoneRepository).saveTaskTombstone(eq(5L), eq(1L), eq(false), any(Date.class));
+        verify(taskRepository).deleteTask(5L, 1L, false);
+        verify(taskRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    public void deleteTaskById_Admin_ShouldDeleteAnyTask() {
+        User principal = new User(1L, Set.of(Role.ADMIN));
+        given(taskRepository.deleteTask(5L, 1L, true)).willReturn(1);
+
+        taskService.deleteTaskById(principal, 5L);
+
+        verify(taskRepository).deleteTask(5L, 1L, true);
+    }
+
+    @Test
+    public void deleteTaskById_AnotherUserTask_ShouldThrowForbidden() {
+        User principal = new User(2L, Set.of(Role.USER));
+        given(taskRepository.deleteTask(5L, 2L, false)).willReturn(0);
+        given(taskRepository.existsById(5L)).willReturn(true);
+
+        CustomException ex = assertThrows(CustomException.class, () -> taskService.deleteTaskById(principal, 5L));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getHttpStatus());
+    }
 
-        doNothing().when(taskRepository).deleteById(anyLong());
-        taskService.deleteTaskById(principal, task.getId());
+    @Test
+    public void deleteTaskById_NotFound_ShouldThrowNotFound() {
+        User principal = new User(2L, Set.of(Role.USER));
+        given(taskRepository.deleteTask(5L, 2L, false)).willReturn(0);
+        given(taskRepository.existsById(5L)).willReturn(false);
 
-        verify(taskRepository).deleteById(anyLong());
+        CustomException ex = assertThrows(CustomException.class, () -> taskService.deleteTaskById(principal, 5L));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getHttpStatus());
     }
 
     // createTask
@@ -134,23 +244,21 @@ public class TodoTaskServiceTest {
         assertEquals(createdTask.getUser(), user);
     }
 
-    // findTasksByIds
+    // updateTasksSection
     @Test
-    public void findTasksByIds_ShouldReturnListOfTasks() {
-        TodoTask task1 = mock(TodoTask.class);
-        given(task1.getTitle()).willReturn("Task1");
+    public void updateTasksSection_Move_ShouldMoveTasks() {
+        given(taskRepository.moveToSection(1L, 3L, Set.of(1L, 2L))).willReturn(2);
 
-        TodoTask task2 = mock(TodoTask.class);
-        given(task2.getTitle()).willReturn("Task2");
-
-        given(taskRepository.findAllByIdInAndUserId(anySet(), anyLong())).willReturn(List.of(task1, task2));
-        List<TodoTask> tasks = taskService.findTasksByIds(Set.of(1L, 2L), 1L);
+        assertEquals(2, taskService.updateTasksSection(1L, 3L, Set.of(1L, 2L), FilterByOperation.MOVE));
+        verify(taskRepository, never()).removeFromSection(anyLong(), anyLong(), anySet());
+    }
 
-        assertNotNull(tasks);
-        assertEquals(2, tasks.size());
+    @Test
+    public void updateTasksSection_Remove_ShouldRemoveTasks() {
+        given(taskRepository.removeFromSection(1L, 3L, Set.of(1L, 2L))).willReturn(1);
 
-        assertTrue(tasks.get(0).getTitle().startsWith("Task"));
-        assertTrue(tasks.get(1).getTitle().startsWith("Task"));
+        assertEquals(1, taskService.updateTasksSection(1L, 3L, Set.of(1L, 2L), FilterByOperation.REMOVE));
+        verify(taskRepository, never()).moveToSection(anyLong(), anyLong(), anySet());
     }
 
     // saveTask
@@ -161,4 +269,77 @@ public class TodoTaskServiceTest {
         verify(taskRepository).save(any(TodoTask.class));
     }
 
+    // applyOperations
+    @Test
+    public void applyOperations_ShouldApplyEachOperation() {
+        User user = new User(1L, Set.of());
+        TodoTask toUpdate = spy(new TodoTask("Old title"));
+        given(toUpdate.getId()).willReturn(2L);
+        TodoTask toDelete = mock(TodoTask.class);
+        given(toDelete.getId()).willReturn(3L);
+        given(taskRepository.findAllByIdInAndUserId(Set.of(2L, 3L), 1L)).willReturn(List.of(toUpdate, toDelete));
+
+        TodoTask created = mock(TodoTask.class);
+        given(created.getId()).willReturn(100L);
+        given(taskRepository.save(any(TodoTask.class))).willReturn(created);
+
+        List<TaskOperationResult> results = taskService.applyOperations(user, List.of(
+                new TaskOperation(BatchOperation.CREATE, null, new TodoTask("New task")),
+                new TaskOperation(BatchOperation.UPDATE, 2L, new TodoTask("New title")),
+                new TaskOperation(BatchOperation.DELETE, 3L, null)));
+
+        assertEquals(3, results.size());
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(100L, (long) results.get(0).getId());
+        assertEquals(200, results.get(1).getStatus());
+        assertEquals(204, results.get(2).getStatus());
+        assertEquals("New title", toUpdate.getTitle());
+
+        verify(taskRepository, times(1)).findAllByIdInAndUserId(anySet(), anyLong());
+        verify(taskRepository).delete(toDelete);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Tombstone>> tombstones = ArgumentCaptor.forClass(List.class);
+        verify(tombstoneRepository).saveAll(tombstones.capture());
+        assertEquals(1, tombstones.getValue().size());
+        assertEquals(3L, (long) tombstones.getValue().get(0).getEntityId());
+        assertEquals(EntityType.TASK, tombstones.getValue().get(0).getEntityType());
+    }
+
+    @Test
+    public void applyOperations_InvalidOperations_ShouldReturnErrors() {
+        User user = new User(1L, Set.of());
+        given(taskRepository.findAllByIdInAndUserId(Set.of(7L), 1L)).willReturn(List.of());
+
+        List<TaskOperationResult> results = taskService.applyOperations(user, List.of(
+                new TaskOperation(BatchOperation.CREATE, null, new TodoTask()),
+                new TaskOperation(BatchOperation.UPDATE, null, new TodoTask("Title")),
+                new TaskOperation(BatchOperation.DELETE, 7L, null)));
+
+        assertEquals(400, results.get(0).getStatus());
+        assertEquals(400, results.get(1).getStatus());
+        assertEquals(404, results.get(2).getStatus());
+        assertEquals(7L, (long) results.get(2).getId());
+
+        verify(taskRepository, never()).save(any(TodoTask.class));
+        verify(taskRepository, never()).delete(any(TodoTask.class));
+        verify(tombstoneRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void applyOperations_DeletedTwice_ShouldReturnNotFound() {
+        User user = new User(1L, Set.of());
+        TodoTask task = mock(TodoTask.class);
+        given(task.getId()).willReturn(5L);
+        given(taskRepository.findAllByIdInAndUserId(Set.of(5L), 1L)).willReturn(List.of(task));
+
+        List<TaskOperationResult> results = taskService.applyOperations(user, List.of(
+                new TaskOperation(BatchOperation.DELETE, 5L, null),
+                new TaskOperation(BatchOperation.UPDATE, 5L, new TodoTask("Title"))));
+
+        assertEquals(204, results.get(0).getStatus());
+        assertEquals(404, results.get(1).getStatus());
+        verify(taskRepository, times(1)).delete(task);
+    }
+
 }
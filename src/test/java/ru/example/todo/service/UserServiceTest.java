@@ -14,6 +14,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import ru.example.todo.config.properties.TokenProperties;
 import ru.example.todo.entity.User;
 import ru.example.todo.exception.CustomException;
@@ -28,6 +29,9 @@ import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
 public class UserServiceTest {
@@ -50,6 +54,9 @@ public class UserServiceTest {
     @Mock
     private TokenProperties tokenProperties;
 
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
     @Before
     public void setUp() {
         given(tokenProperties.getAccessTokenValidity()).willReturn(1_800_000L);
@@ -77,6 +84,36 @@ public class UserServiceTest {
         assertEquals("86400000", response.get("refresh_token_expires"));
     }
 
+    @Test
+    public void login_OutdatedHash_ShouldRehashPassword() {
+        User userFromDb = new User("username@mail.com", "$2a$04$outdatedHash");
+        Authentication auth = mock(Authentication.class);
+
+        given(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).willReturn(auth);
+        given(auth.getPrincipal()).willReturn(new UserDetailsImpl(userFromDb));
+        given(passwordEncoder.upgradeEncoding("$2a$04$outdatedHash")).willReturn(true);
+        given(passwordEncoder.encode("password")).willReturn("$2a$10$newHash");
+
+        userService.login(new User("username@mail.com", "password"), "");
+
+        assertEquals("$2a$10$newHash", userFromDb.getPassword());
+        verify(userRepository, times(1)).save(userFromDb);
+    }
+
+    @Test
+    public void login_CurrentHash_ShouldNotRehashPassword() {
+        User userFromDb = new User("username@mail.com", "$2a$10$currentHash");
+        Authentication auth = mock(Authentication.class);
+
+        given(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).willReturn(auth);
+        given(auth.getPrincipal()).willReturn(new UserDetailsImpl(userFromDb));
+
+        userService.login(new User("username@mail.com", "password"), "");
+
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any());
+    }
+
     @Test
     public void login_ShouldThrowCustomException() {
         given(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
@@ -104,6 +141,15 @@ public class UserServiceTest {
         assertThrows(CustomException.class, () -> userService.findUserById(1L));
     }
 
+    // getUserReference
+    @Test
+    public void getUserReference_ShouldNotQueryUser() {
+        given(userRepository.getOne(1L)).willReturn(mock(User.class));
+
+        assertNotNull(userService.getUserReference(1L));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
     // updatePassword
 
     // existsByUsername
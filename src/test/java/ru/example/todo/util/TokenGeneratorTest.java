@@ -0,0 +1,41 @@
+package ru.example.todo.util;
+/*
+ * Date: 10/18/26
+ * Time: 6:45 PM
+ * */
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TokenGeneratorTest {
+
+    private final TokenGenerator tokenGenerator = new TokenGenerator();
+
+    @Test
+    public void nextToken_ShouldReturnUrlSafeTokenOfGivenLength() {
+        for (int length : new int[]{32, 33, 63, 64, 100}) {
+            String token = tokenGenerator.nextToken(length);
+            assertEquals(length, token.length());
+            assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        }
+    }
+
+    @Test
+    public void nextToken_ShouldReturnUniqueTokens() {
+        Set<String> tokens = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            tokens.add(tokenGenerator.nextToken(64));
+        }
+        assertEquals(1000, tokens.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextToken_TooShort_ShouldThrowIllegalArgumentException() {
+        tokenGenerator.nextToken(16);
+    }
+
+}
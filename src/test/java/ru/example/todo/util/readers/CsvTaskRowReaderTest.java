@@ -0,0 +1,118 @@
+package ru.example.todo.util.readers;
+/*
+ * Date: 10/19/26
+ * Time: 12:40 AM
+ * */
+
+import org.junit.Test;
+import ru.example.todo.domain.TaskChange;
+import ru.example.todo.util.TaskChangeWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class CsvTaskRowReaderTest {
+
+    @Test
+    public void next_ExportedRows_ShouldReadTasks() throws IOException {
+        TaskRowReader reader = reader(TaskChangeWriter.CSV_HEADER + "\r\n" +
+                "1,Read a book,false,true,2021-07-05,3,2021-06-20T10:00:00Z,2021-06-21T10:00:00Z\r\n" +
+                "2,\"Call \"\"Bob\"\",\nthen Alice\",true,false,,,2021-06-20T10:00:00Z,2021-06-21T10:00:00Z\r\n" +
+                "3,Write a letter,false,false,2021-07-06,,,\r\n");
+
+        TaskRow first = reader.next();
+        assertEquals(2, first.getLine());
+        assertEquals("Read a book", first.getTask().getTitle());
+        assertTrue(first.getTask().isStarred());
+        assertFalse(first.getTask().isCompleted());
+        assertEquals(LocalDate.of(2021, 7, 5), first.getTask().getCompletionDate());
+
+        TaskRow second = reader.next();
+        assertEquals(3, second.getLine());
+        assertEquals("Call \"Bob\",\nthen Alice", second.getTask().getTitle());
+        assertTrue(second.getTask().isCompleted());
+        assertNull(second.getTask().getCompletionDate());
+
+        // the quoted line break counts
+        assertEquals(5, reader.next().getLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void next_ExportedFormulas_ShouldReadTitlesUnchanged() throws IOException {
+        StringWriter csv = new StringWriter();
+        csv.write(TaskChangeWriter.CSV_HEADER + "\r\n");
+        for (String title : new String[]{"=1+2", "@SUM(A1)", "'=quoted", "-1 day", "'quoted"}) {
+            TaskChangeWriter.writeCsv(csv, new TaskChange(1L, title, false, false, null, null, null, null));
+        }
+        // a spreadsheet shows the quoted field as text
+        assertTrue(csv.toString().contains("\r\n1,'=1+2,"));
+
+        TaskRowReader reader = reader(csv.toString());
+
+        assertEquals("=1+2", reader.next().getTask().getTitle());
+        assertEquals("@SUM(A1)", reader.next().getTask().getTitle());
+        assertEquals("'=quoted", reader.next().getTask().getTitle());
+        assertEquals("-1 day", reader.next().getTask().getTitle());
+        assertEquals("'quoted", reader.next().getTask().getTitle());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void next_ColumnsInAnyOrder_ShouldReadByName() throws IOException {
+        TaskRowReader reader = reader("Starred,Title\nTRUE,Make a call\n\nfalse,Buy milk");
+
+        TaskRow first = reader.next();
+        assertEquals("Make a call", first.getTask().getTitle());
+        assertTrue(first.getTask().isStarred());
+        // without the column the task is due today
+        assertEquals(LocalDate.now(), first.getTask().getCompletionDate());
+
+        // the blank line is skipped
+        TaskRow second = reader.next();
+        assertEquals(4, second.getLine());
+        assertEquals("Buy milk", second.getTask().getTitle());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void next_InvalidRows_ShouldReturnErrorsAndGoOn() throws IOException {
+        TaskRowReader reader = reader("title,completed,completionDate\n" +
+                "Read a book,maybe,2021-07-05\n" +
+                "Read a book,false,05.07.2021\n" +
+                "Read a book,false,2021-07-05\n" +
+                "\"Unterminated,false,2021-07-05\n");
+
+        assertEquals("completed must be true or false", reader.next().getError());
+        assertEquals("completionDate must be a date as yyyy-MM-dd", reader.next().getError());
+        assertNull(reader.next().getError());
+
+        TaskRow unterminated = reader.next();
+        assertEquals(5, unterminated.getLine());
+        assertEquals("Unterminated quoted field", unterminated.getError());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void next_TooLongField_ShouldReturnError() throws IOException {
+        TaskRowReader reader = reader("title\n" + "a".repeat(CsvTaskRowReader.MAX_FIELD_LENGTH + 1) + "\nBuy milk\n");
+
+        assertEquals("The field is too long", reader.next().getError());
+        assertEquals("Buy milk", reader.next().getTask().getTitle());
+    }
+
+    @Test
+    public void constructor_NoTitleColumn_ShouldThrowException() {
+        assertThrows(IOException.class, () -> reader("name,completed\nRead a book,false\n"));
+    }
+
+    private static TaskRowReader reader(String csv) throws IOException {
+        return new CsvTaskRowReader(new BufferedReader(new StringReader(csv)));
+    }
+
+}
@@ -0,0 +1,63 @@
+package ru.example.todo.util.readers;
+/*
+ * Date: 10/19/26
+ * Time: 12:50 AM
+ * */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class NdjsonTaskRowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    public void next_ExportedLines_ShouldReadTasksAndIgnoreOtherFields() throws IOException {
+        TaskRowReader reader = reader("{\"id\":1,\"title\":\"Read a book\",\"completed\":false,\"starred\":true," +
+                "\"completionDate\":\"2021-07-05\",\"sectionId\":3,\"createdAt\":\"2021-06-20T10:00:00Z\"}\r\n" +
+                "\r\n" +
+                "{\"title\":\"Buy milk\",\"completionDate\":null}");
+
+        TaskRow first = reader.next();
+        assertEquals(1, first.getLine());
+        assertEquals("Read a book", first.getTask().getTitle());
+        assertTrue(first.getTask().isStarred());
+        assertEquals(LocalDate.of(2021, 7, 5), first.getTask().getCompletionDate());
+
+        // the blank line is skipped
+        TaskRow second = reader.next();
+        assertEquals(3, second.getLine());
+        assertEquals("Buy milk", second.getTask().getTitle());
+        assertNull(second.getTask().getCompletionDate());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void next_MalformedLines_ShouldReturnErrorsAndGoOn() throws IOException {
+        TaskRowReader reader = reader("{\"title\": \"Read a book\"\n" +
+                "null\n" +
+                "{\"title\":\"" + "a".repeat(NdjsonTaskRowReader.MAX_LINE_LENGTH) + "\"}\n" +
+                "{\"title\":\"Buy milk\"}\n");
+
+        assertTrue(reader.next().getError().startsWith("Malformed JSON"));
+        assertEquals("Expected a JSON object", reader.next().getError());
+        assertEquals("The line is too long", reader.next().getError());
+
+        TaskRow last = reader.next();
+        assertEquals(4, last.getLine());
+        assertEquals("Buy milk", last.getTask().getTitle());
+        assertNull(reader.next());
+    }
+
+    private TaskRowReader reader(String ndjson) {
+        return new NdjsonTaskRowReader(new StringReader(ndjson), objectMapper);
+    }
+
+}
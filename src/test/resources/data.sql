@@ -42,3 +42,6 @@ values (1, 'Read a book', false, false, DATEADD('WEEK', +1, current_timestamp),
        (10, 'Special', false, false, DATEADD('WEEK', +1, current_timestamp),
         current_timestamp, DATEADD('MINUTE', 40, current_timestamp), 4, 1);
 
+
+-- the task ids are explicit above, the generated ones start after them
+alter sequence task_id_seq restart with 100;